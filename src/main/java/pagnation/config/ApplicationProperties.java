@@ -1,5 +1,10 @@
 package pagnation.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +14,740 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Sequences sequences = new Sequences();
+
+    private final QueryLog queryLog = new QueryLog();
+
+    private final ReadReplicas readReplicas = new ReadReplicas();
+
+    private final ConnectionPool connectionPool = new ConnectionPool();
+
+    private final Cache cache = new Cache();
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    public Sequences getSequences() {
+        return sequences;
+    }
+
+    public QueryLog getQueryLog() {
+        return queryLog;
+    }
+
+    public ReadReplicas getReadReplicas() {
+        return readReplicas;
+    }
+
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * Entity id sequences, allocated with a pooled-lo optimizer.
+     */
+    public static class Sequences {
+
+        public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+        /**
+         * Number of ids allocated per sequence fetch, by sequence name. Also used as the increment of the
+         * sequences created by Liquibase, so that both always agree.
+         */
+        private final Map<String, Integer> allocationSize = new LinkedHashMap<>();
+
+        public Sequences() {
+            allocationSize.put("ponude_seq", DEFAULT_ALLOCATION_SIZE);
+            allocationSize.put("postupci_seq", DEFAULT_ALLOCATION_SIZE);
+            allocationSize.put("tenderi_home_seq", DEFAULT_ALLOCATION_SIZE);
+        }
+
+        public Map<String, Integer> getAllocationSize() {
+            return allocationSize;
+        }
+    }
+
+    /**
+     * Instrumentation of the criteria queries, see {@link pagnation.management.QueryShapeMetersService}.
+     */
+    public static class QueryLog {
+
+        /**
+         * Duration above which a query is logged with its SQL and plan.
+         */
+        private Duration slowThreshold = Duration.ofMillis(500);
+
+        /**
+         * Maximum number of distinct query shapes tracked, the others are tracked together as one shape.
+         */
+        private int maxShapes = 200;
+
+        /**
+         * Minimum interval between two {@code EXPLAIN}s of the slow queries of a same shape.
+         */
+        private Duration explainInterval = Duration.ofMinutes(10);
+
+        public Duration getSlowThreshold() {
+            return slowThreshold;
+        }
+
+        public void setSlowThreshold(Duration slowThreshold) {
+            this.slowThreshold = slowThreshold;
+        }
+
+        public int getMaxShapes() {
+            return maxShapes;
+        }
+
+        public void setMaxShapes(int maxShapes) {
+            this.maxShapes = maxShapes;
+        }
+
+        public Duration getExplainInterval() {
+            return explainInterval;
+        }
+
+        public void setExplainInterval(Duration explainInterval) {
+            this.explainInterval = explainInterval;
+        }
+    }
+
+    /**
+     * Tiers of the Ehcache regions, see {@link CacheConfiguration}.
+     */
+    public static class Cache {
+
+        /**
+         * Directory of the disk tiers, required when a region has one.
+         */
+        private String diskPath;
+
+        /**
+         * Tiers of the regions, by region name. The other regions only have a heap tier of
+         * {@code jhipster.cache.ehcache.max-entries} entries.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        /**
+         * Criteria shapes of the {@code Ponude} queries whose results are kept in the Hibernate query cache, such as
+         * {@code ime.in}, without their sort. The other shapes are always read from the database.
+         */
+        private final List<String> ponudeQueryShapes = new ArrayList<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        private final Responses responses = new Responses();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public List<String> getPonudeQueryShapes() {
+            return ponudeQueryShapes;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Responses getResponses() {
+            return responses;
+        }
+
+        /**
+         * Stale-while-revalidate cache of the list responses, see {@link pagnation.web.rest.util.ListResponseCache}.
+         * The entries expire with the {@code listResponses} region.
+         */
+        public static class Responses {
+
+            /**
+             * Serve the JSON list responses from the cache.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Age after which an entry is recomputed in the background, while it is still served.
+             */
+            private Duration softTtl = Duration.ofSeconds(10);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getSoftTtl() {
+                return softTtl;
+            }
+
+            public void setSoftTtl(Duration softTtl) {
+                this.softTtl = softTtl;
+            }
+        }
+
+        /**
+         * Preloading of the caches on startup, before the readiness probe reports UP, see
+         * {@link pagnation.service.CacheWarmUpService}.
+         */
+        public static class WarmUp {
+
+            /**
+             * Preload the caches on startup.
+             */
+            private boolean enabled = false;
+
+            /**
+             * File where the keys held by the warmed-up regions are saved at shutdown, to be preloaded at the next
+             * start. They are the first keys in the order of each cache, not the most used ones. Without it, or before
+             * it is first saved, the most recent entries are preloaded.
+             */
+            private String savedKeysFile;
+
+            /**
+             * Entries preloaded in each entity region, by entity name, also bounded by the heap entries of the region.
+             */
+            private final Map<String, Integer> entities = new LinkedHashMap<>();
+
+            /**
+             * Users preloaded in the {@code usersByLogin} region.
+             */
+            private int users = 0;
+
+            /**
+             * First pages of postupci preloaded in the query cache, in the default order of the list.
+             */
+            private int postupciPages = 0;
+
+            private int pageSize = 20;
+
+            /**
+             * Entries preloaded at most, all regions together.
+             */
+            private int maxEntries = 20000;
+
+            /**
+             * Queries run at the same time.
+             */
+            private int parallelism = 4;
+
+            /**
+             * Time after which the warm-up is abandoned, and the application reports ready anyway.
+             */
+            private Duration timeout = Duration.ofSeconds(60);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getSavedKeysFile() {
+                return savedKeysFile;
+            }
+
+            public void setSavedKeysFile(String savedKeysFile) {
+                this.savedKeysFile = savedKeysFile;
+            }
+
+            public Map<String, Integer> getEntities() {
+                return entities;
+            }
+
+            public int getUsers() {
+                return users;
+            }
+
+            public void setUsers(int users) {
+                this.users = users;
+            }
+
+            public int getPostupciPages() {
+                return postupciPages;
+            }
+
+            public void setPostupciPages(int postupciPages) {
+                this.postupciPages = postupciPages;
+            }
+
+            public int getPageSize() {
+                return pageSize;
+            }
+
+            public void setPageSize(int pageSize) {
+                this.pageSize = pageSize;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            public void setParallelism(int parallelism) {
+                this.parallelism = parallelism;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+        }
+
+        /**
+         * Invalidation of the caches of the other nodes, through a PostgreSQL notification channel, see
+         * {@link pagnation.service.ClusterCacheInvalidator}.
+         */
+        public static class Invalidation {
+
+            /**
+             * Broadcast the cache evictions to the other nodes, and apply theirs. PostgreSQL only.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Notification channel shared by the nodes.
+             */
+            private String channel = "cache_invalidation";
+
+            /**
+             * Interval of the checks for notifications, and of the sending of the pending evictions.
+             */
+            private Duration pollInterval = Duration.ofMillis(100);
+
+            /**
+             * Delay before reconnecting once the channel is lost. On reconnection, the caches are cleared, as evictions
+             * may have been missed.
+             */
+            private Duration retryAfter = Duration.ofSeconds(5);
+
+            /**
+             * Maximum evictions waiting to be sent. Past it, the evictions of an entity or cache are coalesced into
+             * the eviction of its whole region or cache.
+             */
+            private int maxPending = 10000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getChannel() {
+                return channel;
+            }
+
+            public void setChannel(String channel) {
+                this.channel = channel;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public Duration getRetryAfter() {
+                return retryAfter;
+            }
+
+            public void setRetryAfter(Duration retryAfter) {
+                this.retryAfter = retryAfter;
+            }
+
+            public int getMaxPending() {
+                return maxPending;
+            }
+
+            public void setMaxPending(int maxPending) {
+                this.maxPending = maxPending;
+            }
+        }
+
+        /**
+         * The tiers of a region: a heap tier sized in entries or in MB, then optional off-heap and disk tiers
+         * sized in MB. Each tier must be larger than the one above it.
+         */
+        public static class Region {
+
+            /**
+             * Entries of the heap tier, {@code jhipster.cache.ehcache.max-entries} unless {@code heap-mb} is set.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size of the heap tier, measured by walking the cached objects.
+             */
+            private Long heapMb;
+
+            /**
+             * Size of the off-heap tier, which counts against {@code -XX:MaxDirectMemorySize}.
+             */
+            private Long offheapMb;
+
+            private Long diskMb;
+
+            /**
+             * Time to live of the entries, {@code jhipster.cache.ehcache.time-to-live-seconds} by default.
+             */
+            private Duration timeToLive;
+
+            /**
+             * Time to idle of the entries: when set, an entry expires when it was not read nor written for this
+             * long, instead of after {@code time-to-live}.
+             */
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public Long getHeapMb() {
+                return heapMb;
+            }
+
+            public void setHeapMb(Long heapMb) {
+                this.heapMb = heapMb;
+            }
+
+            public Long getOffheapMb() {
+                return offheapMb;
+            }
+
+            public void setOffheapMb(Long offheapMb) {
+                this.offheapMb = offheapMb;
+            }
+
+            public Long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(Long diskMb) {
+                this.diskMb = diskMb;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+    }
+
+    /**
+     * Monitoring of the Hikari connection pools, see {@link pagnation.management.ConnectionPoolMonitor}.
+     */
+    public static class ConnectionPool {
+
+        /**
+         * Interval of the checks of the connection wait time, as an ISO-8601 duration.
+         */
+        private Duration monitorInterval = Duration.ofSeconds(10);
+
+        /**
+         * Mean connection wait time, over a monitor interval, above which a warning is logged.
+         */
+        private Duration waitAlertThreshold = Duration.ofMillis(100);
+
+        /**
+         * Whether the borrowers of the connections are recorded, for the {@code connectionpool} endpoint.
+         */
+        private boolean trackBorrowers = false;
+
+        /**
+         * Whether the application frames of the stack of the borrowers are recorded, which costs a stack trace
+         * per borrowed connection.
+         */
+        private boolean captureStacks = false;
+
+        private final Adaptive adaptive = new Adaptive();
+
+        public Duration getMonitorInterval() {
+            return monitorInterval;
+        }
+
+        public void setMonitorInterval(Duration monitorInterval) {
+            this.monitorInterval = monitorInterval;
+        }
+
+        public Duration getWaitAlertThreshold() {
+            return waitAlertThreshold;
+        }
+
+        public void setWaitAlertThreshold(Duration waitAlertThreshold) {
+            this.waitAlertThreshold = waitAlertThreshold;
+        }
+
+        public boolean isTrackBorrowers() {
+            return trackBorrowers;
+        }
+
+        public void setTrackBorrowers(boolean trackBorrowers) {
+            this.trackBorrowers = trackBorrowers;
+        }
+
+        public boolean isCaptureStacks() {
+            return captureStacks;
+        }
+
+        public void setCaptureStacks(boolean captureStacks) {
+            this.captureStacks = captureStacks;
+        }
+
+        public Adaptive getAdaptive() {
+            return adaptive;
+        }
+
+        /**
+         * Resizing of the pools within bounds, from their mean connection wait time.
+         */
+        public static class Adaptive {
+
+            private boolean enabled = false;
+
+            private int minimumPoolSize = 10;
+
+            private int maximumPoolSize = 40;
+
+            /**
+             * Mean wait time above which a pool grows.
+             */
+            private Duration growAbove = Duration.ofMillis(20);
+
+            /**
+             * Mean wait time below which a pool, less than half used and without waiting threads, shrinks.
+             */
+            private Duration shrinkBelow = Duration.ofMillis(1);
+
+            /**
+             * Number of connections a pool grows or shrinks by, at most once per monitor interval.
+             */
+            private int step = 2;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMinimumPoolSize() {
+                return minimumPoolSize;
+            }
+
+            public void setMinimumPoolSize(int minimumPoolSize) {
+                this.minimumPoolSize = minimumPoolSize;
+            }
+
+            public int getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(int maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+
+            public Duration getGrowAbove() {
+                return growAbove;
+            }
+
+            public void setGrowAbove(Duration growAbove) {
+                this.growAbove = growAbove;
+            }
+
+            public Duration getShrinkBelow() {
+                return shrinkBelow;
+            }
+
+            public void setShrinkBelow(Duration shrinkBelow) {
+                this.shrinkBelow = shrinkBelow;
+            }
+
+            public int getStep() {
+                return step;
+            }
+
+            public void setStep(int step) {
+                this.step = step;
+            }
+        }
+    }
+
+    /**
+     * Replicas serving the read-only transactions, see {@link ReadReplicaRoutingDataSource}.
+     */
+    public static class ReadReplicas {
+
+        /**
+         * The replicas, each with its own connection pool. None by default: everything runs on the primary.
+         */
+        private final List<Target> targets = new ArrayList<>();
+
+        /**
+         * Maximum time to wait for a replica connection before falling back to the primary.
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Time a replica which failed to give a connection is skipped for.
+         */
+        private Duration retryAfter = Duration.ofSeconds(30);
+
+        /**
+         * Whether the read-only transactions of a request which already wrote run on the primary, so that the
+         * request reads its own writes whatever the replication lag.
+         */
+        private boolean readYourWrites = true;
+
+        public List<Target> getTargets() {
+            return targets;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
+        public boolean isReadYourWrites() {
+            return readYourWrites;
+        }
+
+        public void setReadYourWrites(boolean readYourWrites) {
+            this.readYourWrites = readYourWrites;
+        }
+
+        /**
+         * A replica. Its pool has the settings of the primary pool ({@code spring.datasource.hikari}), except for
+         * the ones set here.
+         */
+        public static class Target {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            /**
+             * Maximum size of the pool, the one of the primary pool by default.
+             */
+            private Integer maximumPoolSize;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public Integer getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(Integer maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+        }
+    }
+
+    /**
+     * Coalescing of the identical reads in flight, see {@link pagnation.service.SingleFlight}.
+     */
+    public static class SingleFlight {
+
+        /**
+         * Time a call waits for the identical call in flight, after which it is executed itself.
+         */
+        private Duration maxWait = Duration.ofSeconds(10);
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+}
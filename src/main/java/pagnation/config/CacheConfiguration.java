@@ -1,11 +1,21 @@
 package pagnation.config;
 
+import java.io.File;
 import java.time.Duration;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
@@ -19,12 +29,17 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final long TIMESTAMPS_ENTRIES = 1000;
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        ehcache = jHipsterProperties.getCache().getEhcache();
+        cacheProperties = applicationProperties.getCache();
 
         jcacheConfiguration =
             Eh107Configuration.fromEhcacheCacheConfiguration(
@@ -35,6 +50,24 @@ public class CacheConfiguration {
             );
     }
 
+    /**
+     * Cache manager with a persistence directory, for the disk tiers of {@code application.cache.regions}. Without a
+     * disk path, the cache manager is the default one of Spring Boot.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.cache", name = "disk-path")
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        DefaultPersistenceConfiguration persistence = new DefaultPersistenceConfiguration(new File(cacheProperties.getDiskPath()));
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(
+            provider.getDefaultURI(),
+            new DefaultConfiguration(getClass().getClassLoader(), persistence)
+        );
+        // as Spring Boot does for the cache manager it creates
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
+    }
+
     @Bean
     public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
         return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
@@ -51,6 +84,12 @@ public class CacheConfiguration {
             createCache(cm, pagnation.domain.Ponude.class.getName());
             createCache(cm, pagnation.domain.Postupci.class.getName());
             createCache(cm, pagnation.domain.TenderiHome.class.getName());
+            createCache(cm, pagnation.service.PonudeCountCache.PONUDE_COUNT_CACHE);
+            createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            createCache(cm, pagnation.repository.PonudeRepository.QUERY_CACHE_REGION);
+            createCache(cm, pagnation.repository.PostupciRepository.QUERY_CACHE_REGION);
+            createCache(cm, pagnation.web.rest.util.ListResponseCache.CACHE_NAME);
+            createTimestampsCache(cm);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -60,8 +99,70 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            ApplicationProperties.Cache.Region region = cacheProperties.getRegions().get(cacheName);
+            cm.createCache(cacheName, region == null ? jcacheConfiguration : createRegionConfiguration(cacheName, region));
+        }
+        // hits, misses and evictions of each region, published as the cache.* meters
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * The last change of each table, against which Hibernate checks the cached query results: its entries must outlive
+     * the results, so it has as many entries as there are tables, and they don't expire.
+     */
+    private void createTimestampsCache(javax.cache.CacheManager cm) {
+        String cacheName = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            cm.createCache(
+                cacheName,
+                Eh107Configuration.fromEhcacheCacheConfiguration(
+                    CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(TIMESTAMPS_ENTRIES))
+                        .withExpiry(ExpiryPolicyBuilder.noExpiration())
+                        .build()
+                )
+            );
+        }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    private javax.cache.configuration.Configuration<Object, Object> createRegionConfiguration(
+        String cacheName,
+        ApplicationProperties.Cache.Region region
+    ) {
+        ResourcePoolsBuilder pools = region.getHeapMb() != null
+            ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(region.getHeapMb(), MemoryUnit.MB)
+            : ResourcePoolsBuilder.heap(region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries());
+        if (region.getOffheapMb() != null) {
+            pools = pools.offheap(region.getOffheapMb(), MemoryUnit.MB);
+        }
+        if (region.getDiskMb() != null) {
+            if (cacheProperties.getDiskPath() == null) {
+                throw new IllegalStateException(
+                    "Cache region " + cacheName + " has a disk tier, but application.cache.disk-path is not set"
+                );
+            }
+            pools = pools.disk(region.getDiskMb(), MemoryUnit.MB, false);
+        }
+        Duration timeToLive = region.getTimeToLive() != null ? region.getTimeToLive() : Duration.ofSeconds(ehcache.getTimeToLiveSeconds());
+        CacheConfigurationBuilder<Object, Object> configuration = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, pools)
+            .withExpiry(
+                region.getTimeToIdle() != null
+                    ? ExpiryPolicyBuilder.timeToIdleExpiration(region.getTimeToIdle())
+                    : ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive)
+            );
+        if (region.getOffheapMb() != null || region.getDiskMb() != null) {
+            // the lower tiers store the keys and values serialized, and the entries of the regions are Serializable
+            configuration =
+                configuration
+                    .withKeySerializer(new PlainJavaSerializer<>(getClass().getClassLoader()))
+                    .withValueSerializer(new PlainJavaSerializer<>(getClass().getClassLoader()));
         }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(configuration.build());
     }
 
     @Autowired(required = false)
@@ -0,0 +1,27 @@
+package pagnation.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import pagnation.web.rest.util.ColumnarJsonHttpMessageConverter;
+
+/**
+ * Configure the converter of the columnar JSON shape of the {@code fields} list responses.
+ */
+@Configuration
+public class ColumnarJsonConfiguration implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public ColumnarJsonConfiguration(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // last, so that the plain JSON of the other converters stays the default representation
+        converters.add(new ColumnarJsonHttpMessageConverter(objectMapper));
+    }
+}
@@ -1,16 +1,32 @@
 package pagnation.config;
 
+import java.util.HashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import pagnation.domain.PooledLoSequenceGenerator;
 import tech.jhipster.config.JHipsterConstants;
 
 @Configuration
 @EnableJpaRepositories({ "pagnation.repository" })
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    /**
+     * Pass the configured sequence allocation sizes to the {@link PooledLoSequenceGenerator}.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sequenceAllocationSizeCustomizer(ApplicationProperties applicationProperties) {
+        return hibernateProperties ->
+            hibernateProperties.put(
+                PooledLoSequenceGenerator.ALLOCATION_SIZES_SETTING,
+                new HashMap<>(applicationProperties.getSequences().getAllocationSize())
+            );
+    }
+}
@@ -0,0 +1,38 @@
+package pagnation.config;
+
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the entity writes done through Hibernate as {@link pagnation.domain.EntityChangedEvent}s,
+ * so that services can keep derived data in line without the domain depending on them.
+ */
+@Configuration
+public class EntityChangedEventConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(EntityChangedEventConfiguration.class);
+
+    public EntityChangedEventConfiguration(EntityManagerFactory entityManagerFactory, ApplicationEventPublisher publisher) {
+        log.debug("Registering Hibernate entity change listeners");
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+
+        EntityChangedEventListener flushed = new EntityChangedEventListener(publisher, false);
+        registry.appendListeners(EventType.POST_INSERT, flushed);
+        registry.appendListeners(EventType.POST_UPDATE, flushed);
+        registry.appendListeners(EventType.POST_DELETE, flushed);
+
+        EntityChangedEventListener completed = new EntityChangedEventListener(publisher, true);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, completed);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, completed);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, completed);
+    }
+}
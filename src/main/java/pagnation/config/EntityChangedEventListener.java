@@ -0,0 +1,132 @@
+package pagnation.config;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import pagnation.domain.EntityChangedEvent;
+
+/**
+ * Hibernate listener publishing {@link EntityChangedEvent}s, either when changes are flushed or after their transaction completes.
+ */
+class EntityChangedEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ApplicationEventPublisher publisher;
+
+    private final boolean postCommit;
+
+    EntityChangedEventListener(ApplicationEventPublisher publisher, boolean postCommit) {
+        this.publisher = publisher;
+        this.postCommit = postCommit;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId(), EntityChangedEvent.Type.INSERT, null, event.getState(), completedPhase());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        publish(
+            event.getPersister(),
+            event.getId(),
+            EntityChangedEvent.Type.INSERT,
+            null,
+            event.getState(),
+            EntityChangedEvent.Phase.ROLLED_BACK
+        );
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(
+            event.getPersister(),
+            event.getId(),
+            EntityChangedEvent.Type.UPDATE,
+            event.getOldState(),
+            event.getState(),
+            completedPhase()
+        );
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        publish(
+            event.getPersister(),
+            event.getId(),
+            EntityChangedEvent.Type.UPDATE,
+            event.getOldState(),
+            event.getState(),
+            EntityChangedEvent.Phase.ROLLED_BACK
+        );
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId(), EntityChangedEvent.Type.DELETE, event.getDeletedState(), null, completedPhase());
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        publish(
+            event.getPersister(),
+            event.getId(),
+            EntityChangedEvent.Type.DELETE,
+            event.getDeletedState(),
+            null,
+            EntityChangedEvent.Phase.ROLLED_BACK
+        );
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return postCommit;
+    }
+
+    private EntityChangedEvent.Phase completedPhase() {
+        return postCommit ? EntityChangedEvent.Phase.COMMITTED : EntityChangedEvent.Phase.FLUSHED;
+    }
+
+    private void publish(
+        EntityPersister persister,
+        Serializable id,
+        EntityChangedEvent.Type type,
+        Object[] previousState,
+        Object[] state,
+        EntityChangedEvent.Phase phase
+    ) {
+        publisher.publishEvent(
+            new EntityChangedEvent(
+                persister.getMappedClass(),
+                id,
+                type,
+                phase,
+                toMap(persister, id, previousState),
+                toMap(persister, id, state)
+            )
+        );
+    }
+
+    private static Map<String, Object> toMap(EntityPersister persister, Serializable id, Object[] values) {
+        if (values == null) {
+            return null;
+        }
+        String[] names = persister.getPropertyNames();
+        Map<String, Object> state = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            state.put(names[i], values[i]);
+        }
+        state.put(persister.getIdentifierPropertyName(), id);
+        return state;
+    }
+}
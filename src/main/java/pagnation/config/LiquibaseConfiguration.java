@@ -1,5 +1,7 @@
 package pagnation.config;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Executor;
 import javax.sql.DataSource;
 import liquibase.integration.spring.SpringLiquibase;
@@ -24,8 +26,11 @@ public class LiquibaseConfiguration {
 
     private final Environment env;
 
-    public LiquibaseConfiguration(Environment env) {
+    private final ApplicationProperties applicationProperties;
+
+    public LiquibaseConfiguration(Environment env, ApplicationProperties applicationProperties) {
         this.env = env;
+        this.applicationProperties = applicationProperties;
     }
 
     @Bean
@@ -55,7 +60,7 @@ public class LiquibaseConfiguration {
         liquibase.setDatabaseChangeLogTable(liquibaseProperties.getDatabaseChangeLogTable());
         liquibase.setDropFirst(liquibaseProperties.isDropFirst());
         liquibase.setLabels(liquibaseProperties.getLabels());
-        liquibase.setChangeLogParameters(liquibaseProperties.getParameters());
+        liquibase.setChangeLogParameters(changeLogParameters(liquibaseProperties));
         liquibase.setRollbackFile(liquibaseProperties.getRollbackFile());
         liquibase.setTestRollbackOnUpdate(liquibaseProperties.isTestRollbackOnUpdate());
         if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_NO_LIQUIBASE))) {
@@ -66,4 +71,19 @@ public class LiquibaseConfiguration {
         }
         return liquibase;
     }
+
+    /**
+     * The configured parameters, with the increment of each entity sequence set to its allocation size.
+     */
+    private Map<String, String> changeLogParameters(LiquibaseProperties liquibaseProperties) {
+        Map<String, String> parameters = new HashMap<>();
+        applicationProperties
+            .getSequences()
+            .getAllocationSize()
+            .forEach((sequenceName, allocationSize) -> parameters.put(sequenceName + ".incrementBy", String.valueOf(allocationSize)));
+        if (liquibaseProperties.getParameters() != null) {
+            parameters.putAll(liquibaseProperties.getParameters());
+        }
+        return parameters;
+    }
 }
@@ -0,0 +1,96 @@
+package pagnation.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import pagnation.config.ApplicationProperties.ReadReplicas;
+
+/**
+ * Route the read-only transactions to the replicas of {@code application.read-replicas.targets}, when there are any.
+ * <p>
+ * The primary pool is then created here from {@code spring.datasource}, instead of by Spring Boot, and each replica
+ * has its own pool, with the settings of the primary one.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.read-replicas", name = "targets[0].url")
+public class ReadReplicaDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+        HikariDataSource primaryDataSource,
+        ApplicationProperties applicationProperties
+    ) {
+        ReadReplicas readReplicas = applicationProperties.getReadReplicas();
+        List<ReadReplicas.Target> targets = readReplicas.getTargets();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            ReadReplicas.Target target = targets.get(i);
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setPoolName(primaryDataSource.getPoolName() + "-replica-" + i);
+            config.setJdbcUrl(target.getUrl());
+            if (target.getUsername() != null) {
+                config.setUsername(target.getUsername());
+                config.setPassword(target.getPassword());
+            }
+            if (target.getMaximumPoolSize() != null) {
+                config.setMaximumPoolSize(target.getMaximumPoolSize());
+            }
+            config.setConnectionTimeout(readReplicas.getConnectionTimeout().toMillis());
+            config.setReadOnly(true);
+            // a replica which is down at startup is skipped until it is back
+            config.setInitializationFailTimeout(-1);
+            replicas.put("replica-" + i, new HikariDataSource(config));
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas, readReplicas.getRetryAfter(), readReplicas.isReadYourWrites());
+    }
+
+    /**
+     * The replicas are not beans, so Spring Boot does not publish their hikaricp metrics: they are published here,
+     * once all the beans are created, as the meter registry depends on the entity manager factory through its binders,
+     * which itself depends on the data source.
+     */
+    @Bean
+    public SmartInitializingSingleton replicaPoolMetrics(
+        ReadReplicaRoutingDataSource readReplicaRoutingDataSource,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return () ->
+            meterRegistry.ifAvailable(registry ->
+                readReplicaRoutingDataSource
+                    .getReplicas()
+                    .values()
+                    .stream()
+                    .filter(HikariDataSource.class::isInstance)
+                    .map(HikariDataSource.class::cast)
+                    .filter(replica -> replica.getMetricRegistry() == null && replica.getMetricsTrackerFactory() == null)
+                    .forEach(replica -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)))
+            );
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,164 @@
+package pagnation.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import pagnation.repository.ReplicaReads;
+
+/**
+ * {@link DataSource} routing the connections of the read-only transactions to the replicas, in turn, and all the
+ * others to the primary.
+ * <p>
+ * A replica which fails to give a connection is skipped for {@code retryAfter}, and the connection is taken from
+ * the primary instead. With {@code readYourWrites}, once a request has taken a connection for writing, its later
+ * read-only transactions also run on the primary.
+ * <p>
+ * A replica may lag behind the primary, so the reads it serves are recorded with {@link ReplicaReads}, and are not
+ * put in the caches.
+ * <p>
+ * The transaction is only known to be read-only once it has begun, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which takes the connection at the
+ * first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private static final String WROTE_ATTRIBUTE = ReadReplicaRoutingDataSource.class.getName() + ".WROTE";
+
+    private final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final List<String> replicas;
+
+    private final long retryAfterMillis;
+
+    private final boolean readYourWrites;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Map<String, Long> downUntil = new ConcurrentHashMap<>();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration retryAfter, boolean readYourWrites) {
+        this.replicas = new ArrayList<>(replicas.keySet());
+        this.retryAfterMillis = retryAfter.toMillis();
+        this.readYourWrites = readYourWrites;
+        Map<Object, Object> targets = new LinkedHashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markWrote();
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || (readYourWrites && hasWritten())) {
+            return PRIMARY;
+        }
+        long now = System.currentTimeMillis();
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String replica = replicas.get((start + i) % size);
+            Long until = downUntil.get(replica);
+            if (until == null || until <= now) {
+                return replica;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String key = (String) determineCurrentLookupKey();
+        DataSource target = getResolvedDataSources().get(key);
+        if (PRIMARY.equals(key)) {
+            return target.getConnection();
+        }
+        try {
+            Connection connection = target.getConnection();
+            downUntil.remove(key);
+            ReplicaReads.markReplicaRead();
+            return connection;
+        } catch (SQLException e) {
+            log.warn("Replica {} is unavailable, reading from the primary for {} ms: {}", key, retryAfterMillis, e.getMessage());
+            downUntil.put(key, System.currentTimeMillis() + retryAfterMillis);
+            return getResolvedDataSources().get(PRIMARY).getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // the replicas have their own credentials
+        return getResolvedDataSources().get(PRIMARY).getConnection(username, password);
+    }
+
+    /**
+     * Get the replicas.
+     *
+     * @return the data sources of the replicas, by name.
+     */
+    public Map<String, DataSource> getReplicas() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (String replica : replicas) {
+            dataSources.put(replica, getResolvedDataSources().get(replica));
+        }
+        return dataSources;
+    }
+
+    /**
+     * Get the replicas currently skipped, because they failed to give a connection.
+     *
+     * @return the names of the replicas.
+     */
+    public List<String> getUnavailableReplicas() {
+        long now = System.currentTimeMillis();
+        List<String> unavailable = new ArrayList<>();
+        downUntil.forEach((replica, until) -> {
+            if (until > now) {
+                unavailable.add(replica);
+            }
+        });
+        return unavailable;
+    }
+
+    private void markWrote() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (readYourWrites && attributes != null) {
+            attributes.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private boolean hasWritten() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        // the primary is a bean of its own, closed by the context
+        for (String replica : replicas) {
+            DataSource dataSource = getResolvedDataSources().get(replica);
+            if (dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) dataSource).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package pagnation.domain;
+
+import java.util.Map;
+
+/**
+ * Application event describing an entity written through Hibernate.
+ * <p>
+ * Each change is published twice: once in {@link Phase#FLUSHED} when it is sent to the database, and once more when its
+ * transaction completes, in {@link Phase#COMMITTED} or {@link Phase#ROLLED_BACK}. Bulk HQL/SQL statements are not published,
+ * except the single-row updates by id of the repositories.
+ */
+public class EntityChangedEvent {
+
+    public enum Type {
+        INSERT,
+        UPDATE,
+        DELETE,
+    }
+
+    public enum Phase {
+        FLUSHED,
+        COMMITTED,
+        ROLLED_BACK,
+    }
+
+    private final Class<?> entityClass;
+
+    private final Object id;
+
+    private final Type type;
+
+    private final Phase phase;
+
+    private final Map<String, Object> previousState;
+
+    private final Map<String, Object> state;
+
+    public EntityChangedEvent(
+        Class<?> entityClass,
+        Object id,
+        Type type,
+        Phase phase,
+        Map<String, Object> previousState,
+        Map<String, Object> state
+    ) {
+        this.entityClass = entityClass;
+        this.id = id;
+        this.type = type;
+        this.phase = phase;
+        this.previousState = previousState;
+        this.state = state;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return the property values before the change, by property name, or {@code null} for an insert or when Hibernate
+     * did not load them.
+     */
+    public Map<String, Object> getPreviousState() {
+        return previousState;
+    }
+
+    /**
+     * @return the property values after the change, by property name, or {@code null} for a delete. Only the updated
+     * properties are present after a single-row update by id.
+     */
+    public Map<String, Object> getState() {
+        return state;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityChangedEvent{" +
+            "entityClass=" + entityClass.getName() +
+            ", id=" + id +
+            ", type=" + type +
+            ", phase=" + phase +
+            "}";
+    }
+}
@@ -0,0 +1,49 @@
+package pagnation.domain;
+
+import java.util.Map;
+import java.util.Properties;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Sequence generator using the pooled-lo optimizer, with an allocation size configured per sequence by
+ * {@code application.sequences.allocation-size}.
+ * <p>
+ * Each fetch of the sequence reserves the ids from the fetched value to the value plus the allocation
+ * size minus one, so the sequence increment must be the allocation size: Liquibase creates the sequences
+ * with the same configured value.
+ */
+public class PooledLoSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY = "pagnation.domain.PooledLoSequenceGenerator";
+
+    /**
+     * Hibernate setting holding the allocation sizes, by sequence name.
+     */
+    public static final String ALLOCATION_SIZES_SETTING = "pagnation.sequences.allocation_size";
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    public static final String PONUDE_SEQUENCE = "ponude_seq";
+
+    public static final String POSTUPCI_SEQUENCE = "postupci_seq";
+
+    public static final String TENDERI_HOME_SEQUENCE = "tenderi_home_seq";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSizes = serviceRegistry.getService(ConfigurationService.class).getSettings().get(ALLOCATION_SIZES_SETTING);
+        String sequenceName = params.getProperty(SEQUENCE_PARAM);
+        if (allocationSizes instanceof Map && ((Map<?, ?>) allocationSizes).get(sequenceName) != null) {
+            params.setProperty(INCREMENT_PARAM, String.valueOf(((Map<?, ?>) allocationSizes).get(sequenceName)));
+        } else {
+            params.putIfAbsent(INCREMENT_PARAM, String.valueOf(DEFAULT_ALLOCATION_SIZE));
+        }
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
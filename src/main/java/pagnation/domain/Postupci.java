@@ -1,9 +1,13 @@
 package pagnation.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import javax.persistence.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 /**
  * A Postupci.
@@ -16,8 +20,12 @@ public class Postupci implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "postupciSequenceGenerator")
+    @GenericGenerator(
+        name = "postupciSequenceGenerator",
+        strategy = PooledLoSequenceGenerator.STRATEGY,
+        parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = PooledLoSequenceGenerator.POSTUPCI_SEQUENCE)
+    )
     @Column(name = "id")
     private Long id;
 
@@ -27,6 +35,14 @@ public class Postupci implements Serializable {
     @Column(name = "ime")
     private String ime;
 
+    /**
+     * Incremented on each update, and exposed as the strong {@code ETag} {@code "<version>"} of the entity.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -68,6 +84,19 @@ public class Postupci implements Serializable {
         this.ime = ime;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Postupci version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -94,6 +123,7 @@ public class Postupci implements Serializable {
             "id=" + getId() +
             ", broj=" + getBroj() +
             ", ime='" + getIme() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -4,6 +4,9 @@ import java.io.Serializable;
 import javax.persistence.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 /**
  * A TenderiHome.
@@ -16,8 +19,12 @@ public class TenderiHome implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tenderiHomeSequenceGenerator")
+    @GenericGenerator(
+        name = "tenderiHomeSequenceGenerator",
+        strategy = PooledLoSequenceGenerator.STRATEGY,
+        parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = PooledLoSequenceGenerator.TENDERI_HOME_SEQUENCE)
+    )
     @Column(name = "id")
     private Long id;
 
@@ -0,0 +1,61 @@
+package pagnation.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BatchMetersService {
+
+    public static final String ROWS_METER_NAME = "batch.rows";
+    public static final String ROWS_METER_DESCRIPTION = "Indicates the number of rows written by batch requests.";
+    public static final String ROWS_METER_BASE_UNIT = "rows";
+    public static final String CHUNKS_METER_NAME = "batch.chunks";
+    public static final String CHUNKS_METER_DESCRIPTION = "Indicates the time spent writing the chunks of batch requests.";
+    public static final String ENTITY_DIMENSION = "entity";
+    public static final String STATUS_DIMENSION = "status";
+
+    private final MeterRegistry registry;
+
+    public BatchMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Track the rows written by a chunk of a batch request.
+     *
+     * @param entityName the name of the written entity.
+     * @param status the result of the rows, as in {@link pagnation.service.dto.BatchResultDTO.Status}.
+     * @param rows the number of rows.
+     */
+    public void trackRows(String entityName, String status, int rows) {
+        if (rows == 0) {
+            return;
+        }
+        Counter
+            .builder(ROWS_METER_NAME)
+            .baseUnit(ROWS_METER_BASE_UNIT)
+            .description(ROWS_METER_DESCRIPTION)
+            .tag(ENTITY_DIMENSION, entityName)
+            .tag(STATUS_DIMENSION, status)
+            .register(registry)
+            .increment(rows);
+    }
+
+    /**
+     * Track the time spent writing a chunk of a batch request.
+     *
+     * @param entityName the name of the written entity.
+     * @param nanos the duration in nanoseconds.
+     */
+    public void trackChunk(String entityName, long nanos) {
+        Timer
+            .builder(CHUNKS_METER_NAME)
+            .description(CHUNKS_METER_DESCRIPTION)
+            .tag(ENTITY_DIMENSION, entityName)
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
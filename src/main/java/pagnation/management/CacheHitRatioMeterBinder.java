@@ -0,0 +1,61 @@
+package pagnation.management;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the {@code cache.gets.hit.ratio} gauge of each cache region, the share of its gets which were hits since the
+ * start, from the {@code cache.gets} meters. For the query cache regions, it tells whether caching a query shape pays
+ * off.
+ */
+@Component
+public class CacheHitRatioMeterBinder implements MeterBinder {
+
+    public static final String HIT_RATIO_METER_NAME = "cache.gets.hit.ratio";
+
+    private static final String GETS_METER_NAME = "cache.gets";
+    private static final String CACHE_DIMENSION = "cache";
+    private static final String RESULT_DIMENSION = "result";
+
+    private final javax.cache.CacheManager cacheManager;
+
+    public CacheHitRatioMeterBinder(javax.cache.CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Gauge
+                .builder(HIT_RATIO_METER_NAME, registry, r -> hitRatio(r, cacheName))
+                .tag(CACHE_DIMENSION, cacheName)
+                .description("The share of the gets of the cache which were hits")
+                .register(registry);
+        }
+    }
+
+    /**
+     * Get the hit ratio of a cache.
+     *
+     * @param registry the registry of the {@code cache.gets} meters.
+     * @param cacheName the name of the cache.
+     * @return the hits over the gets of the cache, {@code NaN} before its first get.
+     */
+    static double hitRatio(MeterRegistry registry, String cacheName) {
+        double hits = count(registry, cacheName, "hit");
+        double gets = hits + count(registry, cacheName, "miss");
+        return gets > 0 ? hits / gets : Double.NaN;
+    }
+
+    private static double count(MeterRegistry registry, String cacheName, String result) {
+        FunctionCounter counter = registry
+            .find(GETS_METER_NAME)
+            .tag(CACHE_DIMENSION, cacheName)
+            .tag(RESULT_DIMENSION, result)
+            .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,111 @@
+package pagnation.management;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.cache.CachesEndpoint;
+import org.springframework.boot.actuate.cache.CachesEndpointWebExtension;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.EndpointWebExtension;
+import org.springframework.stereotype.Component;
+
+/**
+ * Extension of the {@code /management/caches} endpoint, adding under {@code regions} the effective settings of each
+ * Ehcache region (its tiers and expiry) and its live statistics, from the {@code cache.*} meters.
+ * <p>
+ * It replaces the web extension of Spring Boot, whose operation on a single cache it keeps.
+ */
+@Component
+@EndpointWebExtension(endpoint = CachesEndpoint.class)
+@ConditionalOnAvailableEndpoint(endpoint = CachesEndpoint.class)
+public class CacheSettingsEndpointWebExtension extends CachesEndpointWebExtension {
+
+    private static final String GETS_METER_NAME = "cache.gets";
+    private static final String PUTS_METER_NAME = "cache.puts";
+    private static final String EVICTIONS_METER_NAME = "cache.evictions";
+    private static final String CACHE_DIMENSION = "cache";
+    private static final String RESULT_DIMENSION = "result";
+
+    private final CachesEndpoint cachesEndpoint;
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final MeterRegistry registry;
+
+    public CacheSettingsEndpointWebExtension(CachesEndpoint cachesEndpoint, javax.cache.CacheManager cacheManager, MeterRegistry registry) {
+        super(cachesEndpoint);
+        this.cachesEndpoint = cachesEndpoint;
+        this.cacheManager = cacheManager;
+        this.registry = registry;
+    }
+
+    /**
+     * Get the caches, with the settings and statistics of the regions.
+     *
+     * @return the caches by cache manager, under {@code cacheManagers}, and the regions by name, under {@code regions}.
+     */
+    @ReadOperation
+    public Map<String, Object> caches() {
+        Map<String, Object> regions = new TreeMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            javax.cache.Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                regions.put(cacheName, describe(cache));
+            }
+        }
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("cacheManagers", cachesEndpoint.caches().getCacheManagers());
+        caches.put("regions", regions);
+        return caches;
+    }
+
+    private Map<String, Object> describe(javax.cache.Cache<Object, Object> cache) {
+        Map<String, Object> region = new LinkedHashMap<>();
+        @SuppressWarnings("unchecked")
+        CacheRuntimeConfiguration<Object, Object> configuration = cache.unwrap(org.ehcache.Cache.class).getRuntimeConfiguration();
+        ResourcePools pools = configuration.getResourcePools();
+        Map<String, String> tiers = new LinkedHashMap<>();
+        for (ResourceType.Core type : ResourceType.Core.values()) {
+            if (pools.getResourceTypeSet().contains(type)) {
+                SizedResourcePool pool = pools.getPoolForResource(type);
+                tiers.put(type.toString().toLowerCase(Locale.ROOT), pool.getSize() + " " + pool.getUnit());
+            }
+        }
+        region.put("tiers", tiers);
+        // the built-in policies do not depend on the entry
+        ExpiryPolicy<? super Object, ? super Object> expiry = configuration.getExpiryPolicy();
+        Duration timeToIdle = expiry.getExpiryForAccess(null, null);
+        if (timeToIdle != null) {
+            region.put("timeToIdle", timeToIdle.toString());
+        } else {
+            Duration timeToLive = expiry.getExpiryForCreation(null, null);
+            region.put("timeToLive", timeToLive == null || ExpiryPolicy.INFINITE.equals(timeToLive) ? null : timeToLive.toString());
+        }
+        Map<String, Double> statistics = new LinkedHashMap<>();
+        statistics.put("hits", count(GETS_METER_NAME, cache.getName(), "hit"));
+        statistics.put("misses", count(GETS_METER_NAME, cache.getName(), "miss"));
+        statistics.put("puts", count(PUTS_METER_NAME, cache.getName(), null));
+        statistics.put("evictions", count(EVICTIONS_METER_NAME, cache.getName(), null));
+        double hitRatio = CacheHitRatioMeterBinder.hitRatio(registry, cache.getName());
+        statistics.put("hitRatio", Double.isNaN(hitRatio) ? null : hitRatio);
+        region.put("statistics", statistics);
+        return region;
+    }
+
+    private Double count(String meterName, String cacheName, String result) {
+        FunctionCounter counter = result == null
+            ? registry.find(meterName).tag(CACHE_DIMENSION, cacheName).functionCounter()
+            : registry.find(meterName).tag(CACHE_DIMENSION, cacheName).tag(RESULT_DIMENSION, result).functionCounter();
+        return counter == null ? null : counter.count();
+    }
+}
@@ -0,0 +1,213 @@
+package pagnation.management;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import pagnation.config.ApplicationProperties;
+
+/**
+ * The current borrowers of the connections of the {@code dataSource}: the thread, the request and optionally the
+ * application frames of the stack which took each connection not yet closed.
+ * <p>
+ * When {@code application.connection-pool.track-borrowers} is set, the {@code dataSource} bean is wrapped so that its
+ * connections are recorded from their borrowing to their closing. The properties are only read then, as a bean post
+ * processor is created before the other beans, which it would otherwise initialize too early.
+ */
+@Component
+public class ConnectionBorrowers implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    private static final String APPLICATION_PACKAGE = "pagnation.";
+
+    private static final int MAX_STACK_FRAMES = 20;
+
+    private final ObjectProvider<ApplicationProperties> applicationProperties;
+
+    private final Map<Connection, Borrower> borrowers = new ConcurrentHashMap<>();
+
+    public ConnectionBorrowers(ObjectProvider<ApplicationProperties> applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    private ApplicationProperties.ConnectionPool getProperties() {
+        return applicationProperties.getObject().getConnectionPool();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN_NAME.equals(beanName) && bean instanceof DataSource && getProperties().isTrackBorrowers()) {
+            return new BorrowersDataSource((DataSource) bean);
+        }
+        return bean;
+    }
+
+    /**
+     * Get the current borrowers.
+     *
+     * @return the borrowers, the longest held connection first.
+     */
+    public List<Borrower> getBorrowers() {
+        return borrowers.values().stream().sorted(Comparator.comparing(Borrower::getSince)).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the number of connections currently borrowed.
+     *
+     * @return the number of borrowers.
+     */
+    public int size() {
+        return borrowers.size();
+    }
+
+    private Connection track(Connection connection) {
+        Connection proxy = (Connection) Proxy.newProxyInstance(
+            ConnectionProxy.class.getClassLoader(),
+            new Class<?>[] { ConnectionProxy.class },
+            new BorrowedConnectionHandler(connection)
+        );
+        borrowers.put(proxy, new Borrower(Thread.currentThread().getName(), currentEndpoint(), Instant.now(), currentStack()));
+        return proxy;
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+
+    private List<String> currentStack() {
+        if (!getProperties().isCaptureStacks()) {
+            return Collections.emptyList();
+        }
+        return Arrays
+            .stream(new Throwable().getStackTrace())
+            .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE))
+            .filter(frame -> !isOwnFrame(frame))
+            .limit(MAX_STACK_FRAMES)
+            .map(StackTraceElement::toString)
+            .collect(Collectors.toList());
+    }
+
+    private static boolean isOwnFrame(StackTraceElement frame) {
+        String className = frame.getClassName();
+        return className.equals(ConnectionBorrowers.class.getName()) || className.startsWith(ConnectionBorrowers.class.getName() + "$");
+    }
+
+    /**
+     * A connection not yet closed.
+     */
+    public static final class Borrower {
+
+        private final String thread;
+
+        private final String endpoint;
+
+        private final Instant since;
+
+        private final List<String> stack;
+
+        private Borrower(String thread, String endpoint, Instant since, List<String> stack) {
+            this.thread = thread;
+            this.endpoint = endpoint;
+            this.since = since;
+            this.stack = stack;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * @return the method and URI of the request, or {@code null} outside of a request.
+         */
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public Instant getSince() {
+            return since;
+        }
+
+        public long getHeldMillis() {
+            return Duration.between(since, Instant.now()).toMillis();
+        }
+
+        public List<String> getStack() {
+            return stack;
+        }
+    }
+
+    private class BorrowersDataSource extends DelegatingDataSource {
+
+        BorrowersDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return track(obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return track(obtainTargetDataSource().getConnection(username, password));
+        }
+    }
+
+    private class BorrowedConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        BorrowedConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getTargetConnection":
+                    return target;
+                case "close":
+                    borrowers.remove(proxy);
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package pagnation.management;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /management/connectionpool} endpoint, showing the state of the connection pools and, when
+ * {@code application.connection-pool.track-borrowers} is set, the current borrowers of the connections.
+ */
+@Component
+@Endpoint(id = "connectionpool")
+public class ConnectionPoolEndpoint {
+
+    private final ConnectionPoolMonitor connectionPoolMonitor;
+
+    private final ConnectionBorrowers connectionBorrowers;
+
+    public ConnectionPoolEndpoint(ConnectionPoolMonitor connectionPoolMonitor, ConnectionBorrowers connectionBorrowers) {
+        this.connectionPoolMonitor = connectionPoolMonitor;
+        this.connectionBorrowers = connectionBorrowers;
+    }
+
+    /**
+     * Get the pools and the borrowers.
+     *
+     * @return the state of each pool, under {@code pools}, and the borrowers, the longest held connection first,
+     * under {@code borrowers}.
+     */
+    @ReadOperation
+    public Map<String, Object> connectionPool() {
+        Map<String, Object> connectionPool = new LinkedHashMap<>();
+        connectionPool.put("pools", connectionPoolMonitor.getPoolStatistics());
+        connectionPool.put("borrowers", connectionBorrowers.getBorrowers());
+        return connectionPool;
+    }
+}
@@ -0,0 +1,229 @@
+package pagnation.management;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pagnation.config.ApplicationProperties;
+
+/**
+ * Monitor of the connection wait time of the Hikari pools of the {@link DataSource} beans, and of the data sources
+ * they route to, such as the read replicas, from the {@code hikaricp.connections.acquire} timer of each pool.
+ * <p>
+ * Every {@code application.connection-pool.monitor-interval}, the mean wait of the interval is compared to
+ * {@code wait-alert-threshold}, and a warning is logged with the state of the pool when it is above. In adaptive
+ * mode, a pool also grows when its mean wait is above {@code adaptive.grow-above}, and shrinks when it is idle
+ * enough, within the {@code adaptive} bounds.
+ */
+@Component
+public class ConnectionPoolMonitor {
+
+    public static final String ACQUIRE_METER_NAME = "hikaricp.connections.acquire";
+    public static final String POOL_DIMENSION = "pool";
+
+    private final Logger log = LoggerFactory.getLogger(ConnectionPoolMonitor.class);
+
+    private final ObjectProvider<DataSource> dataSources;
+
+    private final MeterRegistry registry;
+
+    private final ApplicationProperties.ConnectionPool properties;
+
+    private final Map<String, AcquireSample> samples = new ConcurrentHashMap<>();
+
+    public ConnectionPoolMonitor(
+        ObjectProvider<DataSource> dataSources,
+        MeterRegistry registry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.dataSources = dataSources;
+        this.registry = registry;
+        this.properties = applicationProperties.getConnectionPool();
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.connection-pool.monitor-interval:PT10S}",
+        fixedDelayString = "${application.connection-pool.monitor-interval:PT10S}"
+    )
+    public void monitor() {
+        for (HikariDataSource pool : getPools()) {
+            HikariPoolMXBean state = pool.getHikariPoolMXBean();
+            Timer acquire = registry.find(ACQUIRE_METER_NAME).tag(POOL_DIMENSION, pool.getPoolName()).timer();
+            if (state == null || acquire == null) {
+                // not started yet
+                continue;
+            }
+            Duration meanWait = measureMeanWait(pool.getPoolName(), acquire);
+            if (meanWait.compareTo(properties.getWaitAlertThreshold()) >= 0) {
+                log.warn(
+                    "Connections of pool {} waited {} ms on average: {} active, {} idle, {} waiting threads, maximum pool size {}",
+                    pool.getPoolName(),
+                    meanWait.toMillis(),
+                    state.getActiveConnections(),
+                    state.getIdleConnections(),
+                    state.getThreadsAwaitingConnection(),
+                    pool.getMaximumPoolSize()
+                );
+            }
+            if (properties.getAdaptive().isEnabled()) {
+                resize(pool, state, meanWait);
+            }
+        }
+    }
+
+    /**
+     * Get the state of the pools.
+     *
+     * @return the state of each started pool.
+     */
+    public List<PoolStatistics> getPoolStatistics() {
+        List<PoolStatistics> statistics = new ArrayList<>();
+        for (HikariDataSource pool : getPools()) {
+            HikariPoolMXBean state = pool.getHikariPoolMXBean();
+            if (state != null) {
+                statistics.add(new PoolStatistics(pool, state));
+            }
+        }
+        return statistics;
+    }
+
+    private Duration measureMeanWait(String poolName, Timer acquire) {
+        AcquireSample sample = new AcquireSample(acquire.count(), acquire.totalTime(TimeUnit.NANOSECONDS));
+        AcquireSample previous = samples.put(poolName, sample);
+        if (previous == null || sample.count <= previous.count) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos((long) ((sample.totalNanos - previous.totalNanos) / (sample.count - previous.count)));
+    }
+
+    private void resize(HikariDataSource pool, HikariPoolMXBean state, Duration meanWait) {
+        ApplicationProperties.ConnectionPool.Adaptive adaptive = properties.getAdaptive();
+        int size = pool.getMaximumPoolSize();
+        int resized = size;
+        if (meanWait.compareTo(adaptive.getGrowAbove()) >= 0) {
+            resized = Math.min(adaptive.getMaximumPoolSize(), size + adaptive.getStep());
+        } else if (
+            meanWait.compareTo(adaptive.getShrinkBelow()) < 0 &&
+            state.getThreadsAwaitingConnection() == 0 &&
+            state.getActiveConnections() < size / 2
+        ) {
+            resized = Math.max(adaptive.getMinimumPoolSize(), size - adaptive.getStep());
+        }
+        if (resized != size) {
+            log.info(
+                "Resizing connection pool {} from {} to {} connections, mean wait {} ms",
+                pool.getPoolName(),
+                size,
+                resized,
+                meanWait.toMillis()
+            );
+            pool.getHikariConfigMXBean().setMaximumPoolSize(resized);
+        }
+    }
+
+    private List<HikariDataSource> getPools() {
+        // the same pool may be reached through several beans, such as a pool and a proxy of it
+        Set<HikariDataSource> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+        dataSources
+            .orderedStream()
+            .forEach(dataSource -> {
+                if (dataSource instanceof AbstractRoutingDataSource) {
+                    // it only unwraps to the data source of the current transaction
+                    ((AbstractRoutingDataSource) dataSource).getResolvedDataSources().values().forEach(target -> addPool(pools, target));
+                } else {
+                    addPool(pools, dataSource);
+                }
+            });
+        return new ArrayList<>(pools);
+    }
+
+    private void addPool(Set<HikariDataSource> pools, DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                pools.add(dataSource.unwrap(HikariDataSource.class));
+            }
+        } catch (SQLException e) {
+            log.debug("Cannot unwrap data source {}: {}", dataSource, e.getMessage());
+        }
+    }
+
+    private static final class AcquireSample {
+
+        private final long count;
+
+        private final double totalNanos;
+
+        private AcquireSample(long count, double totalNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+        }
+    }
+
+    /**
+     * The state of a pool.
+     */
+    public static final class PoolStatistics {
+
+        private final String pool;
+
+        private final int active;
+
+        private final int idle;
+
+        private final int pending;
+
+        private final int total;
+
+        private final int maximumPoolSize;
+
+        private PoolStatistics(HikariDataSource pool, HikariPoolMXBean state) {
+            this.pool = pool.getPoolName();
+            this.active = state.getActiveConnections();
+            this.idle = state.getIdleConnections();
+            this.pending = state.getThreadsAwaitingConnection();
+            this.total = state.getTotalConnections();
+            this.maximumPoolSize = pool.getMaximumPoolSize();
+        }
+
+        public String getPool() {
+            return pool;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+    }
+}
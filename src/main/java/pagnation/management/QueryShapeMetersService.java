@@ -0,0 +1,365 @@
+package pagnation.management;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pagnation.config.ApplicationProperties;
+
+/**
+ * Instrumentation of the criteria queries, grouped by shape: the filter operators and sort they use, without their
+ * values (see {@code pagnation.service.CriteriaShape}).
+ * <p>
+ * Each query is timed and its rows counted in Micrometer meters tagged by entity, operation and shape. The SQL of a
+ * shape is translated once, when the shape is first seen, and queries slower than
+ * {@code application.query-log.slow-threshold} are logged with their SQL and the plan of the database.
+ * <p>
+ * A shape is explained at most once per {@code application.query-log.explain-interval}, one {@code EXPLAIN} at a time,
+ * once the transaction of the slow query has completed: the explanations never hold a second connection while the
+ * slow query holds its own, and are dropped when they queue up.
+ */
+@Service
+public class QueryShapeMetersService {
+
+    public static final String QUERIES_METER_NAME = "criteria.queries";
+    public static final String QUERIES_METER_DESCRIPTION = "Indicates the time spent running criteria queries, by shape.";
+    public static final String ROWS_METER_NAME = "criteria.queries.rows";
+    public static final String ROWS_METER_DESCRIPTION = "Indicates the number of rows read by criteria queries, by shape.";
+    public static final String ROWS_METER_BASE_UNIT = "rows";
+    public static final String ENTITY_DIMENSION = "entity";
+    public static final String OPERATION_DIMENSION = "operation";
+    public static final String SHAPE_DIMENSION = "shape";
+
+    // tracks the shapes above application.query-log.max-shapes, to bound the number of meters
+    public static final String OTHER_SHAPE = "other";
+
+    private static final int EXPLAIN_QUEUE_SIZE = 10;
+
+    private final Logger log = LoggerFactory.getLogger(QueryShapeMetersService.class);
+
+    private final MeterRegistry registry;
+
+    private final ApplicationProperties.QueryLog properties;
+
+    private final ConcurrentMap<ShapeKey, ShapeStatistics> statistics = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor explainer = new ThreadPoolExecutor(
+        1,
+        1,
+        0,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(EXPLAIN_QUEUE_SIZE),
+        runnable -> {
+            Thread thread = new Thread(runnable, "query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }
+    );
+
+    public QueryShapeMetersService(MeterRegistry registry, ApplicationProperties applicationProperties) {
+        this.registry = registry;
+        this.properties = applicationProperties.getQueryLog();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    /**
+     * Run and track a criteria query.
+     *
+     * @param entityName the name of the queried entity.
+     * @param operation the kind of query, such as {@code page} or {@code count}.
+     * @param shape the shape of the criteria.
+     * @param query the query.
+     * @param rows the number of rows of the result of the query.
+     * @param sql the SQL of the query, only called for new shapes.
+     * @param plan prepares, on the calling thread, the explanation of the query: its SQL and plan, without the values
+     * of its parameters. Only called for the slow queries to explain, and the explanation is read once their transaction
+     * has completed.
+     * @return the result of the query.
+     */
+    public <R> R track(
+        String entityName,
+        String operation,
+        String shape,
+        Supplier<R> query,
+        ToLongFunction<R> rows,
+        Supplier<String> sql,
+        Supplier<Supplier<String>> plan
+    ) {
+        long start = System.nanoTime();
+        R result = query.get();
+        long nanos = System.nanoTime() - start;
+        long rowCount = rows.applyAsLong(result);
+
+        ShapeStatistics shapeStatistics = getStatistics(new ShapeKey(entityName, operation, shape), sql);
+        shapeStatistics.record(nanos, rowCount);
+        Timer
+            .builder(QUERIES_METER_NAME)
+            .description(QUERIES_METER_DESCRIPTION)
+            .tag(ENTITY_DIMENSION, entityName)
+            .tag(OPERATION_DIMENSION, operation)
+            .tag(SHAPE_DIMENSION, shapeStatistics.key.shape)
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary
+            .builder(ROWS_METER_NAME)
+            .baseUnit(ROWS_METER_BASE_UNIT)
+            .description(ROWS_METER_DESCRIPTION)
+            .tag(ENTITY_DIMENSION, entityName)
+            .tag(OPERATION_DIMENSION, operation)
+            .tag(SHAPE_DIMENSION, shapeStatistics.key.shape)
+            .register(registry)
+            .record(rowCount);
+
+        if (nanos >= properties.getSlowThreshold().toNanos()) {
+            logSlowQuery(shapeStatistics, entityName, operation, shape, nanos, rowCount, plan);
+        }
+        return result;
+    }
+
+    /**
+     * Get the shapes run the most often.
+     *
+     * @param limit the maximum number of shapes.
+     * @return the shapes, by descending number of queries.
+     */
+    public List<ShapeStatistics> getHottest(int limit) {
+        return top(Comparator.comparingLong(ShapeStatistics::getCount), limit);
+    }
+
+    /**
+     * Get the shapes with the slowest queries on average.
+     *
+     * @param limit the maximum number of shapes.
+     * @return the shapes, by descending mean time.
+     */
+    public List<ShapeStatistics> getSlowest(int limit) {
+        return top(Comparator.comparingDouble(ShapeStatistics::getMeanMillis), limit);
+    }
+
+    private List<ShapeStatistics> top(Comparator<ShapeStatistics> comparator, int limit) {
+        return statistics.values().stream().sorted(comparator.reversed()).limit(limit).collect(Collectors.toList());
+    }
+
+    private ShapeStatistics getStatistics(ShapeKey key, Supplier<String> sql) {
+        ShapeStatistics shapeStatistics = statistics.get(key);
+        if (shapeStatistics != null) {
+            return shapeStatistics;
+        }
+        if (statistics.size() >= properties.getMaxShapes()) {
+            return statistics.computeIfAbsent(
+                new ShapeKey(key.entityName, key.operation, OTHER_SHAPE),
+                otherKey -> new ShapeStatistics(otherKey, null)
+            );
+        }
+        String translated = translate(sql);
+        return statistics.computeIfAbsent(key, newKey -> new ShapeStatistics(newKey, translated));
+    }
+
+    private String translate(Supplier<String> sql) {
+        try {
+            return sql.get();
+        } catch (RuntimeException e) {
+            log.debug("Could not translate a criteria query to SQL", e);
+            return null;
+        }
+    }
+
+    private void logSlowQuery(
+        ShapeStatistics shapeStatistics,
+        String entityName,
+        String operation,
+        String shape,
+        long nanos,
+        long rows,
+        Supplier<Supplier<String>> plan
+    ) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (!shapeStatistics.startExplaining(properties.getExplainInterval().toNanos())) {
+            log.warn("Slow {} {} query of shape {}: {} ms, {} rows", entityName, operation, shape, millis, rows);
+            return;
+        }
+        Supplier<String> explanation;
+        try {
+            explanation = plan.get();
+        } catch (RuntimeException e) {
+            logWithoutPlan(entityName, operation, shape, millis, rows, e);
+            return;
+        }
+        Runnable explain = () -> {
+            try {
+                log.warn("Slow {} {} query of shape {}: {} ms, {} rows\n{}", entityName, operation, shape, millis, rows, explanation.get());
+            } catch (RuntimeException e) {
+                logWithoutPlan(entityName, operation, shape, millis, rows, e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        submit(explain, entityName, operation, shape, millis, rows);
+                    }
+                }
+            );
+        } else {
+            submit(explain, entityName, operation, shape, millis, rows);
+        }
+    }
+
+    private void submit(Runnable explain, String entityName, String operation, String shape, long millis, long rows) {
+        try {
+            explainer.execute(explain);
+        } catch (RejectedExecutionException e) {
+            log.warn(
+                "Slow {} {} query of shape {}: {} ms, {} rows, not explained as explanations are queued",
+                entityName,
+                operation,
+                shape,
+                millis,
+                rows
+            );
+        }
+    }
+
+    private void logWithoutPlan(String entityName, String operation, String shape, long millis, long rows, RuntimeException e) {
+        log.warn(
+            "Slow {} {} query of shape {}: {} ms, {} rows, without plan: {}",
+            entityName,
+            operation,
+            shape,
+            millis,
+            rows,
+            e.toString()
+        );
+    }
+
+    private static final class ShapeKey {
+
+        private final String entityName;
+
+        private final String operation;
+
+        private final String shape;
+
+        private ShapeKey(String entityName, String operation, String shape) {
+            this.entityName = entityName;
+            this.operation = operation;
+            this.shape = shape;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ShapeKey)) {
+                return false;
+            }
+            ShapeKey that = (ShapeKey) o;
+            return entityName.equals(that.entityName) && operation.equals(that.operation) && shape.equals(that.shape);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityName, operation, shape);
+        }
+    }
+
+    /**
+     * The statistics of the queries of a shape, since the application started.
+     */
+    public static final class ShapeStatistics {
+
+        private final ShapeKey key;
+
+        private final String sql;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        private final LongAdder rows = new LongAdder();
+
+        private final AtomicLong lastExplainedAt = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+
+        private ShapeStatistics(ShapeKey key, String sql) {
+            this.key = key;
+            this.sql = sql;
+        }
+
+        private void record(long nanos, long rowCount) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            rows.add(rowCount);
+        }
+
+        /**
+         * @return whether the slow query should be explained, if the shape was not explained during the interval.
+         */
+        private boolean startExplaining(long intervalNanos) {
+            long now = System.nanoTime();
+            long last = lastExplainedAt.get();
+            return now - last >= intervalNanos && lastExplainedAt.compareAndSet(last, now);
+        }
+
+        public String getEntity() {
+            return key.entityName;
+        }
+
+        public String getOperation() {
+            return key.operation;
+        }
+
+        public String getShape() {
+            return key.shape;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public double getMeanMillis() {
+            long queries = count.sum();
+            return queries == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / queries;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+    }
+}
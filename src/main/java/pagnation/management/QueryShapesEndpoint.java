@@ -0,0 +1,43 @@
+package pagnation.management;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import pagnation.management.QueryShapeMetersService.ShapeStatistics;
+
+/**
+ * {@code /management/queryshapes} endpoint, showing the criteria query shapes run the most often and the slowest
+ * ones, with their SQL.
+ */
+@Component
+@Endpoint(id = "queryshapes")
+public class QueryShapesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final QueryShapeMetersService queryShapeMetersService;
+
+    public QueryShapesEndpoint(QueryShapeMetersService queryShapeMetersService) {
+        this.queryShapeMetersService = queryShapeMetersService;
+    }
+
+    /**
+     * Get the hottest and the slowest query shapes.
+     *
+     * @param limit the maximum number of shapes of each list, 10 by default.
+     * @return the shapes by descending number of queries, under {@code hottest}, and by descending mean time,
+     * under {@code slowest}.
+     */
+    @ReadOperation
+    public Map<String, List<ShapeStatistics>> shapes(@Nullable Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        Map<String, List<ShapeStatistics>> shapes = new LinkedHashMap<>();
+        shapes.put("hottest", queryShapeMetersService.getHottest(size));
+        shapes.put("slowest", queryShapeMetersService.getSlowest(size));
+        return shapes;
+    }
+}
@@ -0,0 +1,57 @@
+package pagnation.management;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters of the entity id sequences: the rate of {@code hibernate.sequence.fetches} against the rate of
+ * inserts tells whether the allocation size of a sequence fits its insert throughput.
+ */
+@Component
+public class SequenceMeters implements MeterBinder {
+
+    public static final String FETCHES_METER_NAME = "hibernate.sequence.fetches";
+    public static final String FETCHES_METER_DESCRIPTION = "Indicates the number of round trips fetching a sequence value.";
+    public static final String ALLOCATION_SIZE_METER_NAME = "hibernate.sequence.allocation.size";
+    public static final String ALLOCATION_SIZE_METER_DESCRIPTION = "Indicates the number of ids allocated per sequence fetch.";
+    public static final String ENTITY_DIMENSION = "entity";
+    public static final String SEQUENCE_DIMENSION = "sequence";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SequenceMeters(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (EntityPersister persister : sessionFactory.getMetamodel().entityPersisters().values()) {
+            if (!(persister.getIdentifierGenerator() instanceof SequenceStyleGenerator)) {
+                continue;
+            }
+            DatabaseStructure structure = ((SequenceStyleGenerator) persister.getIdentifierGenerator()).getDatabaseStructure();
+            String entityName = persister.getMappedClass().getSimpleName();
+            FunctionCounter
+                .builder(FETCHES_METER_NAME, structure, DatabaseStructure::getTimesAccessed)
+                .description(FETCHES_METER_DESCRIPTION)
+                .tag(ENTITY_DIMENSION, entityName)
+                .tag(SEQUENCE_DIMENSION, structure.getName())
+                .register(registry);
+            Gauge
+                .builder(ALLOCATION_SIZE_METER_NAME, structure, DatabaseStructure::getIncrementSize)
+                .description(ALLOCATION_SIZE_METER_DESCRIPTION)
+                .tag(ENTITY_DIMENSION, entityName)
+                .tag(SEQUENCE_DIMENSION, structure.getName())
+                .register(registry);
+        }
+    }
+}
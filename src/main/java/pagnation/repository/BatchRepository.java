@@ -0,0 +1,25 @@
+package pagnation.repository;
+
+/**
+ * Repository fragment writing many entities with JDBC batching.
+ */
+public interface BatchRepository<T> {
+    /**
+     * Persist new entities, then flush them together with the pending changes and removals of the managed entities,
+     * in JDBC batches of {@code hibernate.jdbc.batch_size} statements. Written entities are not put in the
+     * second-level cache, and the persistence context is cleared once flushed, so that it stays small however
+     * many chunks a transaction writes.
+     *
+     * @param newEntities the entities to persist, without id.
+     */
+    void persistAndFlushInBatch(Iterable<T> newEntities);
+
+    /**
+     * Remove managed entities, then flush the removals in JDBC batches of {@code hibernate.jdbc.batch_size}
+     * statements, and clear the persistence context. The removals go through Hibernate, so the second-level cache and
+     * the entity change events are kept in step as for a single delete.
+     *
+     * @param entities the managed entities to remove.
+     */
+    void removeAndFlushInBatch(Iterable<T> entities);
+}
@@ -0,0 +1,37 @@
+package pagnation.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+public class BatchRepositoryImpl<T> implements BatchRepository<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void persistAndFlushInBatch(Iterable<T> newEntities) {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            for (T entity : newEntities) {
+                entityManager.persist(entity);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    @Override
+    public void removeAndFlushInBatch(Iterable<T> entities) {
+        for (T entity : entities) {
+            entityManager.remove(entity);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,123 @@
+package pagnation.repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository of the PostgreSQL {@code LISTEN}/{@code NOTIFY} channels, which broadcast messages to all the sessions of
+ * the database listening to them.
+ * <p>
+ * A channel is used through its own connection to the primary database, outside of the pool: it is held for as long
+ * as it listens, and the notifications it sends are committed right away.
+ */
+@Repository
+public class NotificationRepository {
+
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final String NOTIFY_QUERY = "select pg_notify(?, payload) from unnest(?) as payload";
+
+    private final DataSourceProperties dataSourceProperties;
+
+    public NotificationRepository(DataSourceProperties dataSourceProperties) {
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    /**
+     * Open a connection listening to a channel.
+     *
+     * @param channel the name of the channel, a lower case identifier.
+     * @return the listener, to close once done.
+     * @throws SQLException if the database cannot be reached.
+     */
+    public Listener listen(String channel) throws SQLException {
+        if (!CHANNEL_PATTERN.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+        Connection connection = DriverManager.getConnection(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword()
+        );
+        try {
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+            }
+            return new Listener(connection, channel);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * A connection listening to a channel, which also sends to it.
+     */
+    public static final class Listener implements AutoCloseable {
+
+        private final Connection connection;
+
+        private final PGConnection pgConnection;
+
+        private final String channel;
+
+        private Listener(Connection connection, String channel) throws SQLException {
+            this.connection = connection;
+            this.pgConnection = connection.unwrap(PGConnection.class);
+            this.channel = channel;
+        }
+
+        /**
+         * Send messages to the channel, in a single statement. The other listeners get them in order.
+         *
+         * @param payloads the messages, of less than 8000 bytes each.
+         * @throws SQLException if the connection is lost.
+         */
+        public void notify(List<String> payloads) throws SQLException {
+            if (payloads.isEmpty()) {
+                return;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(NOTIFY_QUERY)) {
+                Array array = connection.createArrayOf("text", payloads.toArray());
+                statement.setString(1, channel);
+                statement.setArray(2, array);
+                statement.execute();
+                array.free();
+            }
+        }
+
+        /**
+         * Get the messages received since the last poll, without waiting for any.
+         *
+         * @return the received messages, including the ones sent through this listener.
+         * @throws SQLException if the connection is lost.
+         */
+        public List<String> poll() throws SQLException {
+            List<String> payloads = new ArrayList<>();
+            PGNotification[] notifications = pgConnection.getNotifications();
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    payloads.add(notification.getParameter());
+                }
+            }
+            return payloads;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+}
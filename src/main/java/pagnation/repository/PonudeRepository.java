@@ -9,4 +9,18 @@ import pagnation.domain.Ponude;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PonudeRepository extends JpaRepository<Ponude, Long>, JpaSpecificationExecutor<Ponude> {}
+public interface PonudeRepository
+    extends
+        PonudeRepositoryWithLimit,
+        PonudeRepositoryWithStream,
+        PonudeRepositoryWithUpdate,
+        BatchRepository<Ponude>,
+        JpaRepository<Ponude, Long>,
+        JpaSpecificationExecutor<Ponude> {
+    String TABLE_NAME = "ponude";
+
+    /**
+     * Query cache region of the cacheable {@link PonudeRepositoryWithLimit} queries.
+     */
+    String QUERY_CACHE_REGION = "ponudeQueries";
+}
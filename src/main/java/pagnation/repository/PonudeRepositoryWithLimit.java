@@ -0,0 +1,25 @@
+package pagnation.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import pagnation.domain.Ponude;
+
+/**
+ * Repository fragment reading a bounded window of {@link Ponude} without the count query of a {@code Page}.
+ */
+public interface PonudeRepositoryWithLimit {
+    List<Ponude> findAll(Specification<Ponude> specification, Sort sort, long offset, int limit);
+
+    /**
+     * Same as {@link #findAll(Specification, Sort, long, int)}, with the ids of the result kept in the
+     * {@link PonudeRepository#QUERY_CACHE_REGION} query cache region until the {@code ponude} table changes.
+     */
+    List<Ponude> findAllCacheable(Specification<Ponude> specification, Sort sort, long offset, int limit);
+
+    /**
+     * @return whether the database compares row values, so that the {@link RowValueComparisonContributor} functions
+     * can be used in the specifications.
+     */
+    boolean supportsRowValueComparison();
+}
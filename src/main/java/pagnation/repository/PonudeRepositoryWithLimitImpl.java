@@ -0,0 +1,62 @@
+package pagnation.repository;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import pagnation.domain.Ponude;
+
+public class PonudeRepositoryWithLimitImpl implements PonudeRepositoryWithLimit {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Ponude> findAll(Specification<Ponude> specification, Sort sort, long offset, int limit) {
+        return createQuery(specification, sort, offset, limit).getResultList();
+    }
+
+    @Override
+    public List<Ponude> findAllCacheable(Specification<Ponude> specification, Sort sort, long offset, int limit) {
+        return createQuery(specification, sort, offset, limit)
+            .setHint(QueryHints.CACHEABLE, true)
+            .setHint(QueryHints.CACHE_REGION, PonudeRepository.QUERY_CACHE_REGION)
+            .getResultList();
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return entityManager
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices()
+            .getDialect()
+            .supportsRowValueConstructorSyntax();
+    }
+
+    private TypedQuery<Ponude> createQuery(Specification<Ponude> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Ponude> query = builder.createQuery(Ponude.class);
+        Root<Ponude> root = query.from(Ponude.class);
+        query.select(root);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+        return entityManager.createQuery(query).setFirstResult(Math.toIntExact(offset)).setMaxResults(limit);
+    }
+}
@@ -0,0 +1,18 @@
+package pagnation.repository;
+
+import java.util.stream.Stream;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import pagnation.domain.Ponude;
+
+/**
+ * Repository fragment reading {@link Ponude} through a forward-only cursor.
+ */
+public interface PonudeRepositoryWithStream {
+    /**
+     * Stream the matching ponudes, fetching {@code fetchSize} rows per round trip.
+     * The ponudes are read-only and detached as they are read, so that the persistence context stays empty:
+     * the stream must be consumed and closed within the transaction that opened it.
+     */
+    Stream<Ponude> streamAll(Specification<Ponude> specification, Sort sort, int fetchSize);
+}
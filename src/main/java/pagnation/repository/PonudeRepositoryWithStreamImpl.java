@@ -0,0 +1,49 @@
+package pagnation.repository;
+
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import pagnation.domain.Ponude;
+
+public class PonudeRepositoryWithStreamImpl implements PonudeRepositoryWithStream {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Ponude> streamAll(Specification<Ponude> specification, Sort sort, int fetchSize) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Ponude> query = builder.createQuery(Ponude.class);
+        Root<Ponude> root = query.from(Ponude.class);
+        query.select(root);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+        return entityManager
+            .createQuery(query)
+            .setHint(QueryHints.FETCH_SIZE, fetchSize)
+            .setHint(QueryHints.READ_ONLY, true)
+            // do not fill the second-level cache with the whole table
+            .setHint(QueryHints.CACHE_MODE, CacheMode.IGNORE)
+            .getResultStream()
+            .map(ponude -> {
+                entityManager.detach(ponude);
+                return ponude;
+            });
+    }
+}
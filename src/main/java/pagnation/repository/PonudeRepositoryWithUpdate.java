@@ -0,0 +1,26 @@
+package pagnation.repository;
+
+import pagnation.domain.Ponude;
+
+/**
+ * Repository fragment updating a {@link Ponude} in a single statement, without loading it first.
+ */
+public interface PonudeRepositoryWithUpdate {
+    /**
+     * Update all the columns of a ponude.
+     *
+     * @param ponude the new state of the ponude, with its id.
+     * @param expectedVersion the version the ponude must have to be updated, {@code null} to update any version.
+     * @return the number of updated rows, {@code 0} if the ponude doesn't exist or doesn't have the expected version.
+     */
+    int updateById(Ponude ponude, Long expectedVersion);
+
+    /**
+     * Update the columns of a ponude which are not {@code null} in the given state.
+     *
+     * @param ponude the partial state of the ponude, with its id.
+     * @param expectedVersion the version the ponude must have to be updated, {@code null} to update any version.
+     * @return the number of updated rows, {@code 0} if the ponude doesn't exist or doesn't have the expected version.
+     */
+    int updateNonNullById(Ponude ponude, Long expectedVersion);
+}
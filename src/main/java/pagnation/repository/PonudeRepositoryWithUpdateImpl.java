@@ -0,0 +1,39 @@
+package pagnation.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.context.ApplicationEventPublisher;
+import pagnation.domain.Ponude;
+
+public class PonudeRepositoryWithUpdateImpl implements PonudeRepositoryWithUpdate {
+
+    private static final String VERSION_COLUMN = "version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public PonudeRepositoryWithUpdateImpl(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public int updateById(Ponude ponude, Long expectedVersion) {
+        return new UpdateByIdStatement(Ponude.class, PonudeRepository.TABLE_NAME, VERSION_COLUMN)
+            .set("broj", ponude.getBroj(), StandardBasicTypes.INTEGER)
+            .set("ime", ponude.getIme(), StandardBasicTypes.STRING)
+            .expectVersion(expectedVersion)
+            .execute(entityManager, applicationEventPublisher, ponude.getId());
+    }
+
+    @Override
+    public int updateNonNullById(Ponude ponude, Long expectedVersion) {
+        return new UpdateByIdStatement(Ponude.class, PonudeRepository.TABLE_NAME, VERSION_COLUMN)
+            .setIfNotNull("broj", ponude.getBroj(), StandardBasicTypes.INTEGER)
+            .setIfNotNull("ime", ponude.getIme(), StandardBasicTypes.STRING)
+            .expectVersion(expectedVersion)
+            .execute(entityManager, applicationEventPublisher, ponude.getId());
+    }
+}
@@ -1,5 +1,9 @@
 package pagnation.repository;
 
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 import pagnation.domain.Postupci;
@@ -9,4 +13,34 @@ import pagnation.domain.Postupci;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PostupciRepository extends JpaRepository<Postupci, Long> {}
+public interface PostupciRepository
+    extends
+        PostupciRepositoryWithUpdate,
+        BatchRepository<Postupci>,
+        JpaRepository<Postupci, Long>,
+        JpaSpecificationExecutor<Postupci> {
+    String TABLE_NAME = "postupci";
+
+    /**
+     * Query cache region of the pages of postupcis.
+     */
+    String QUERY_CACHE_REGION = "postupciQueries";
+
+    /**
+     * Read a page of postupcis, with the ids of the page and its count kept in the {@link #QUERY_CACHE_REGION} query
+     * cache region until the {@code postupci} table changes.
+     */
+    @Override
+    @QueryHints(
+        {
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.CACHE_REGION, value = QUERY_CACHE_REGION),
+        }
+    )
+    Page<Postupci> findAll(Pageable pageable);
+
+    /**
+     * Read a page of postupcis without counting them, by fetching one more row than the page size.
+     */
+    Slice<Postupci> findAllBy(Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package pagnation.repository;
+
+import pagnation.domain.Postupci;
+
+/**
+ * Repository fragment updating a {@link Postupci} in a single statement, without loading it first.
+ */
+public interface PostupciRepositoryWithUpdate {
+    /**
+     * Update all the columns of a postupci.
+     *
+     * @param postupci the new state of the postupci, with its id.
+     * @param expectedVersion the version the postupci must have to be updated, {@code null} to update any version.
+     * @return the number of updated rows, {@code 0} if the postupci doesn't exist or doesn't have the expected version.
+     */
+    int updateById(Postupci postupci, Long expectedVersion);
+
+    /**
+     * Update the columns of a postupci which are not {@code null} in the given state.
+     *
+     * @param postupci the partial state of the postupci, with its id.
+     * @param expectedVersion the version the postupci must have to be updated, {@code null} to update any version.
+     * @return the number of updated rows, {@code 0} if the postupci doesn't exist or doesn't have the expected version.
+     */
+    int updateNonNullById(Postupci postupci, Long expectedVersion);
+}
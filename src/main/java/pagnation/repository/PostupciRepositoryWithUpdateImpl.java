@@ -0,0 +1,39 @@
+package pagnation.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.context.ApplicationEventPublisher;
+import pagnation.domain.Postupci;
+
+public class PostupciRepositoryWithUpdateImpl implements PostupciRepositoryWithUpdate {
+
+    private static final String VERSION_COLUMN = "version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public PostupciRepositoryWithUpdateImpl(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public int updateById(Postupci postupci, Long expectedVersion) {
+        return new UpdateByIdStatement(Postupci.class, PostupciRepository.TABLE_NAME, VERSION_COLUMN)
+            .set("broj", postupci.getBroj(), StandardBasicTypes.INTEGER)
+            .set("ime", postupci.getIme(), StandardBasicTypes.STRING)
+            .expectVersion(expectedVersion)
+            .execute(entityManager, applicationEventPublisher, postupci.getId());
+    }
+
+    @Override
+    public int updateNonNullById(Postupci postupci, Long expectedVersion) {
+        return new UpdateByIdStatement(Postupci.class, PostupciRepository.TABLE_NAME, VERSION_COLUMN)
+            .setIfNotNull("broj", postupci.getBroj(), StandardBasicTypes.INTEGER)
+            .setIfNotNull("ime", postupci.getIme(), StandardBasicTypes.STRING)
+            .expectVersion(expectedVersion)
+            .execute(entityManager, applicationEventPublisher, postupci.getId());
+    }
+}
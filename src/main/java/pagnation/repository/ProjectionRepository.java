@@ -0,0 +1,84 @@
+package pagnation.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository reading only some columns of the entities matching a {@link Specification}, as rows which are not
+ * entities: nothing is added to the persistence context nor to the second-level cache.
+ */
+@Repository
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read some fields of the entities matching a specification.
+     *
+     * @param entityClass the class of the entity.
+     * @param specification the specification, or {@code null}.
+     * @param fields the names of the basic attributes to read.
+     * @param sort the sort, which replaces the order of the specification when sorted.
+     * @param offset the number of rows to skip.
+     * @param limit the maximum number of rows.
+     * @return one unmodifiable map per row, from the fields to their values, in the order of {@code fields}.
+     */
+    public <T> List<Map<String, Object>> findAll(
+        Class<T> entityClass,
+        Specification<T> specification,
+        List<String> fields,
+        Sort sort,
+        long offset,
+        int limit
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+        return entityManager
+            .createQuery(query)
+            .setFirstResult(Math.toIntExact(offset))
+            .setMaxResults(limit)
+            .getResultStream()
+            .map(tuple -> toMap(tuple, fields))
+            .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, tuple.get(field));
+        }
+        return Collections.unmodifiableMap(row);
+    }
+}
@@ -0,0 +1,129 @@
+package pagnation.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository translating the criteria queries of {@link Specification}s to the SQL run by Hibernate, and asking
+ * the database how it plans them.
+ */
+@Repository
+public class QueryPlanRepository {
+
+    // criteria literals are bound to parameters named param0, param1... (hibernate.criteria.literal_handling_mode)
+    private static final Pattern PARAMETER = Pattern.compile(":(param\\d+)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public QueryPlanRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Translate the query of the entities matching a specification to SQL, without its limit and offset.
+     *
+     * @param entityClass the class of the entity.
+     * @param specification the specification, or {@code null}.
+     * @param sort the sort, which replaces the order of the specification when sorted.
+     * @return the SQL and the values of its parameters.
+     */
+    public <T> SqlQuery translate(Class<T> entityClass, Specification<T> specification, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        query.select(root);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+        // the literals are not parameters of the criteria query, only of the query it is rendered to
+        org.hibernate.query.Query<?> hqlQuery = entityManager.createQuery(query).unwrap(org.hibernate.query.Query.class);
+        String hql = hqlQuery.getQueryString();
+        String sql = entityManager
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getQueryPlanCache()
+            .getHQLQueryPlan(hql, false, Collections.emptyMap())
+            .getSqlStrings()[0];
+
+        // the parameters are rendered in the SQL in the same order as in the HQL
+        List<Object> parameters = new ArrayList<>();
+        Matcher matcher = PARAMETER.matcher(hql);
+        while (matcher.find()) {
+            parameters.add(hqlQuery.getParameterValue(matcher.group(1)));
+        }
+        return new SqlQuery(sql, parameters);
+    }
+
+    /**
+     * Get the plan of a query from the {@code EXPLAIN} statement of the database.
+     * <p>
+     * The statement runs in its own transaction, as a failed statement aborts the transaction it runs in on PostgreSQL:
+     * call it once the transaction of the explained query has completed, not to hold two connections at a time.
+     *
+     * @param query the query.
+     * @return the plan, one line per row returned by the database.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public String explain(SqlQuery query) {
+        List<String> plan = jdbcTemplate.queryForList("explain " + query.getSql(), String.class, query.getParameters().toArray());
+        return String.join("\n", plan);
+    }
+
+    /**
+     * A SQL query and the values of its parameters, which are left out of {@link #toString()} as they may hold user data.
+     */
+    public static class SqlQuery {
+
+        private final String sql;
+
+        private final List<Object> parameters;
+
+        public SqlQuery(String sql, List<Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public List<Object> getParameters() {
+            return parameters;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "SqlQuery{" +
+                "sql='" + sql + '\'' +
+                ", parameters=" + parameters.size() +
+                "}";
+        }
+    }
+}
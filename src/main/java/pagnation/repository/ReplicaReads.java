@@ -0,0 +1,95 @@
+package pagnation.repository;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tracking of the reads served by a read replica, which may lag behind the primary: what they read must not be cached,
+ * or a stale row could be served from the caches long after the replica has caught up.
+ * <p>
+ * Once a transaction has taken a replica connection, its session only reads from the second-level and query caches,
+ * without putting anything in them, and {@link #isCurrentTransactionOnReplica()} is {@code true} until it completes.
+ * The application caches, which may span several transactions, open a {@link Scope} around the reads they cache.
+ */
+public final class ReplicaReads {
+
+    private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
+
+    private ReplicaReads() {}
+
+    /**
+     * Record that the current transaction has taken a connection from a replica.
+     */
+    public static void markReplicaRead() {
+        for (Scope scope = CURRENT_SCOPE.get(); scope != null; scope = scope.parent) {
+            scope.replicaRead = true;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || isCurrentTransactionOnReplica()) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(ReplicaReads.class, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaReads.class);
+                }
+            }
+        );
+        TransactionSynchronizationManager
+            .getResourceMap()
+            .values()
+            .stream()
+            .filter(EntityManagerHolder.class::isInstance)
+            .map(holder -> ((EntityManagerHolder) holder).getEntityManager().unwrap(Session.class))
+            .forEach(session -> session.setCacheMode(CacheMode.GET));
+    }
+
+    /**
+     * @return whether the current transaction has read from a replica.
+     */
+    public static boolean isCurrentTransactionOnReplica() {
+        return TransactionSynchronizationManager.hasResource(ReplicaReads.class);
+    }
+
+    /**
+     * Open a scope on the current thread, to know whether the reads made until it is closed were served by a replica.
+     *
+     * @return the scope, to close in the same thread.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT_SCOPE.get());
+        CURRENT_SCOPE.set(scope);
+        return scope;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+
+        private boolean replicaRead;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * @return whether a read of the scope was served by a replica, including in a transaction begun before it.
+         */
+        public boolean hasReadFromReplica() {
+            return replicaRead || isCurrentTransactionOnReplica();
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT_SCOPE.remove();
+            } else {
+                CURRENT_SCOPE.set(parent);
+            }
+        }
+    }
+}
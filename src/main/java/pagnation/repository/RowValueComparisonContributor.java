@@ -0,0 +1,81 @@
+package pagnation.repository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hibernate.QueryException;
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunction;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.Type;
+
+/**
+ * Registers the {@link #GREATER_THAN} and {@link #LESS_THAN} functions, which compare two row values of the same
+ * arity: {@code row_gt(a, b, x, y)} is rendered as {@code ((a, b) > (x, y))}. The HQL parser does not take a function
+ * as a condition, so it is asserted with {@code = true}, which PostgreSQL simplifies away when planning the statement.
+ * <p>
+ * PostgreSQL answers such a comparison with a single range scan of an index on {@code (a, b)}, where the equivalent
+ * {@code a > x or (a = x and b > y)} may not be recognized as one range. The functions are only rendered as is, so
+ * they should only be used when {@link PonudeRepositoryWithLimit#supportsRowValueComparison()}.
+ * <p>
+ * It is registered with the {@code hibernate.metadata_builder_contributor} property.
+ */
+public class RowValueComparisonContributor implements MetadataBuilderContributor {
+
+    public static final String GREATER_THAN = "row_gt";
+
+    public static final String LESS_THAN = "row_lt";
+
+    @Override
+    public void contribute(MetadataBuilder metadataBuilder) {
+        metadataBuilder.applySqlFunction(GREATER_THAN, new RowValueComparison(">"));
+        metadataBuilder.applySqlFunction(LESS_THAN, new RowValueComparison("<"));
+    }
+
+    private static final class RowValueComparison implements SQLFunction {
+
+        private final String operator;
+
+        private RowValueComparison(String operator) {
+            this.operator = operator;
+        }
+
+        @Override
+        public boolean hasArguments() {
+            return true;
+        }
+
+        @Override
+        public boolean hasParenthesesIfNoArguments() {
+            return true;
+        }
+
+        @Override
+        public Type getReturnType(Type firstArgumentType, Mapping mapping) {
+            return StandardBasicTypes.BOOLEAN;
+        }
+
+        @Override
+        public String render(Type firstArgumentType, List arguments, SessionFactoryImplementor factory) {
+            if (arguments.isEmpty() || arguments.size() % 2 != 0) {
+                throw new QueryException("The row values compared by " + operator + " must have the same arity");
+            }
+            int arity = arguments.size() / 2;
+            return (
+                "((" +
+                String.join(", ", toStrings(arguments.subList(0, arity))) +
+                ") " +
+                operator +
+                " (" +
+                String.join(", ", toStrings(arguments.subList(arity, arguments.size()))) +
+                "))"
+            );
+        }
+
+        private static List<String> toStrings(List<?> arguments) {
+            return arguments.stream().map(String::valueOf).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package pagnation.repository;
+
+import java.util.List;
+import java.util.OptionalLong;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository reading the statistics the database keeps about its tables.
+ */
+@Repository
+public class TableStatisticsRepository {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String ROW_ESTIMATE_QUERY = "select cast(reltuples as bigint) from pg_class where oid = to_regclass(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean rowEstimateSupported;
+
+    public TableStatisticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Get the number of rows of a table estimated by the query planner, which costs a catalog lookup instead of a scan.
+     * The estimate is refreshed by {@code ANALYZE} and autovacuum, so it can lag behind recent writes.
+     *
+     * @param tableName the name of the table.
+     * @return the estimated number of rows, or empty if the database has no usable estimate.
+     */
+    public OptionalLong estimateRowCount(String tableName) {
+        if (!isRowEstimateSupported()) {
+            return OptionalLong.empty();
+        }
+        List<Long> estimates = jdbcTemplate.queryForList(ROW_ESTIMATE_QUERY, Long.class, tableName);
+        if (estimates.isEmpty() || estimates.get(0) == null || estimates.get(0) <= 0) {
+            // a table which was never analyzed has no estimate
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(estimates.get(0));
+    }
+
+    private boolean isRowEstimateSupported() {
+        Boolean supported = rowEstimateSupported;
+        if (supported == null) {
+            supported =
+                jdbcTemplate.execute(
+                    (ConnectionCallback<Boolean>) connection -> POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())
+                );
+            rowEstimateSupported = supported;
+        }
+        return Boolean.TRUE.equals(supported);
+    }
+}
@@ -0,0 +1,172 @@
+package pagnation.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.Type;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pagnation.domain.EntityChangedEvent;
+
+/**
+ * A single {@code UPDATE ... WHERE id = ?} statement, which tells whether the entity exists by its affected-row count
+ * instead of loading the entity first. The statement increments the version of the entity, and only updates it when it
+ * still has the expected version, if any.
+ * <p>
+ * As the statement bypasses Hibernate, the updated entity is detached from the persistence context and evicted from the
+ * second-level cache, the cached query results on its table are invalidated, and the change is published as
+ * {@link EntityChangedEvent}s without previous state.
+ */
+final class UpdateByIdStatement {
+
+    /**
+     * Query space of the statement: synchronizing it on the entity table would make Hibernate evict the whole
+     * second-level cache region of the entity, instead of the updated entity only.
+     */
+    private static final String QUERY_SPACE = "update_by_id";
+
+    private final Class<?> entityClass;
+
+    private final String tableName;
+
+    private final String versionColumn;
+
+    private Long expectedVersion;
+
+    private final List<String> columns = new ArrayList<>();
+
+    private final List<Object> values = new ArrayList<>();
+
+    private final List<Type> types = new ArrayList<>();
+
+    private final Map<String, Object> state = new HashMap<>();
+
+    UpdateByIdStatement(Class<?> entityClass, String tableName, String versionColumn) {
+        this.entityClass = entityClass;
+        this.tableName = tableName;
+        this.versionColumn = versionColumn;
+    }
+
+    /**
+     * Set a column, named like its property.
+     */
+    UpdateByIdStatement set(String column, Object value, Type type) {
+        columns.add(column);
+        values.add(value);
+        types.add(type);
+        state.put(column, value);
+        return this;
+    }
+
+    /**
+     * Set a column, named like its property, only if the value is not {@code null}.
+     */
+    UpdateByIdStatement setIfNotNull(String column, Object value, Type type) {
+        return value == null ? this : set(column, value, type);
+    }
+
+    /**
+     * Only update the entity if it has this version.
+     *
+     * @param expectedVersion the expected version, {@code null} to update whatever the version.
+     */
+    UpdateByIdStatement expectVersion(Long expectedVersion) {
+        this.expectedVersion = expectedVersion;
+        return this;
+    }
+
+    /**
+     * @param entityManager the entity manager of the current transaction.
+     * @param publisher the publisher of the change.
+     * @param id the id of the entity.
+     * @return the number of updated rows, {@code 0} if the entity doesn't exist or doesn't have the expected version.
+     */
+    int execute(EntityManager entityManager, ApplicationEventPublisher publisher, Long id) {
+        entityManager.flush();
+        String assignments = columns
+            .stream()
+            .map(column -> column + " = ?, ")
+            .collect(Collectors.joining("", "", versionColumn + " = " + versionColumn + " + 1"));
+        String condition = expectedVersion == null ? "id = ?" : "id = ? and " + versionColumn + " = ?";
+        NativeQuery<?> query = entityManager
+            .unwrap(SessionImplementor.class)
+            .createNativeQuery("update " + tableName + " set " + assignments + " where " + condition)
+            .addSynchronizedQuerySpace(QUERY_SPACE);
+        for (int i = 0; i < columns.size(); i++) {
+            query.setParameter(i + 1, values.get(i), types.get(i));
+        }
+        query.setParameter(columns.size() + 1, id);
+        if (expectedVersion != null) {
+            query.setParameter(columns.size() + 2, expectedVersion);
+        }
+        int updated = query.executeUpdate();
+        if (updated > 0) {
+            invalidateQueryResults(entityManager.unwrap(SessionImplementor.class));
+            detach(entityManager, id);
+            publishChange(entityManager, publisher, id);
+        }
+        return updated;
+    }
+
+    /**
+     * The query space is not the table, so the cached query results on the table are invalidated here, as Hibernate does
+     * for its bulk operations: until the transaction completes, then once it has completed.
+     */
+    private void invalidateQueryResults(SessionImplementor session) {
+        if (!session.getFactory().getSessionFactoryOptions().isQueryCacheEnabled()) {
+            return;
+        }
+        String[] spaces = { tableName };
+        TimestampsCache timestampsCache = session.getFactory().getCache().getTimestampsCache();
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) s -> timestampsCache.preInvalidate(spaces, s));
+        session
+            .getActionQueue()
+            .registerProcess((AfterTransactionCompletionProcess) (success, s) -> timestampsCache.invalidate(spaces, s));
+    }
+
+    private void detach(EntityManager entityManager, Long id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(entityClass);
+        Object managed = session.getPersistenceContext().getEntity(session.generateEntityKey(id, persister));
+        if (managed != null) {
+            entityManager.detach(managed);
+        }
+        entityManager.getEntityManagerFactory().getCache().evict(entityClass, id);
+    }
+
+    private void publishChange(EntityManager entityManager, ApplicationEventPublisher publisher, Long id) {
+        state.put("id", id);
+        publisher.publishEvent(event(id, EntityChangedEvent.Phase.FLUSHED));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publisher.publishEvent(event(id, EntityChangedEvent.Phase.COMMITTED));
+            return;
+        }
+        javax.persistence.Cache cache = entityManager.getEntityManagerFactory().getCache();
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // a concurrent transaction may have cached the entity as it was before the commit
+                    cache.evict(entityClass, id);
+                    publisher.publishEvent(
+                        event(id, status == STATUS_COMMITTED ? EntityChangedEvent.Phase.COMMITTED : EntityChangedEvent.Phase.ROLLED_BACK)
+                    );
+                }
+            }
+        );
+    }
+
+    private EntityChangedEvent event(Long id, EntityChangedEvent.Phase phase) {
+        return new EntityChangedEvent(entityClass, id, EntityChangedEvent.Type.UPDATE, phase, null, new HashMap<>(state));
+    }
+}
@@ -0,0 +1,184 @@
+package pagnation.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pagnation.management.BatchMetersService;
+import pagnation.repository.BatchRepository;
+import pagnation.service.dto.BatchResultDTO;
+
+/**
+ * Service writing and deleting batches of entities in chunks, each flushed with JDBC batching.
+ */
+@Service
+@Transactional
+public class BatchService {
+
+    private final Logger log = LoggerFactory.getLogger(BatchService.class);
+
+    private final BatchMetersService batchMetersService;
+
+    private final int chunkSize;
+
+    public BatchService(
+        BatchMetersService batchMetersService,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int jdbcBatchSize
+    ) {
+        this.batchMetersService = batchMetersService;
+        // a chunk is flushed as a few full JDBC batches
+        this.chunkSize = Math.max(jdbcBatchSize, 1) * 20;
+    }
+
+    /**
+     * Save a batch of entities: entities without id are created, the others are updated if they exist.
+     * <p>
+     * The items are read chunk by chunk, so that a streamed batch is never fully held in memory.
+     *
+     * @param entityName the name of the entity, used in metrics.
+     * @param items the entities to save.
+     * @param repository the repository of the entities.
+     * @param idGetter the getter of the entity id.
+     * @param updater copies the state of an item (first argument) onto the existing entity (second argument).
+     * @return the result of each item, in the order of the items.
+     */
+    public <T, R extends JpaRepository<T, Long> & BatchRepository<T>> List<BatchResultDTO> saveAll(
+        String entityName,
+        Iterator<T> items,
+        R repository,
+        Function<T, Long> idGetter,
+        BiConsumer<T, T> updater
+    ) {
+        log.debug("Request to save a batch of {}", entityName);
+        List<BatchResultDTO> results = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        while (items.hasNext()) {
+            chunk.add(items.next());
+            if (chunk.size() == chunkSize) {
+                saveChunk(entityName, chunk, repository, idGetter, updater, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(entityName, chunk, repository, idGetter, updater, results);
+        }
+        return results;
+    }
+
+    /**
+     * Delete a batch of entities by id, the ids not found being reported as such.
+     * <p>
+     * The ids are read chunk by chunk, as the entities of {@link #saveAll}.
+     *
+     * @param entityName the name of the entity, used in metrics.
+     * @param ids the ids of the entities to delete.
+     * @param repository the repository of the entities.
+     * @param idGetter the getter of the entity id.
+     * @return the result of each id, in the order of the ids.
+     */
+    public <T, R extends JpaRepository<T, Long> & BatchRepository<T>> List<BatchResultDTO> deleteAll(
+        String entityName,
+        Iterator<Long> ids,
+        R repository,
+        Function<T, Long> idGetter
+    ) {
+        log.debug("Request to delete a batch of {}", entityName);
+        List<BatchResultDTO> results = new ArrayList<>();
+        List<Long> chunk = new ArrayList<>(chunkSize);
+        while (ids.hasNext()) {
+            chunk.add(ids.next());
+            if (chunk.size() == chunkSize) {
+                deleteChunk(entityName, chunk, repository, idGetter, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            deleteChunk(entityName, chunk, repository, idGetter, results);
+        }
+        return results;
+    }
+
+    private <T, R extends JpaRepository<T, Long> & BatchRepository<T>> void saveChunk(
+        String entityName,
+        List<T> chunk,
+        R repository,
+        Function<T, Long> idGetter,
+        BiConsumer<T, T> updater,
+        List<BatchResultDTO> results
+    ) {
+        long start = System.nanoTime();
+        List<Long> ids = chunk.stream().map(idGetter).filter(id -> id != null).distinct().collect(Collectors.toList());
+        Map<Long, T> existing = ids.isEmpty()
+            ? Map.of()
+            : repository.findAllById(ids).stream().collect(Collectors.toMap(idGetter, Function.identity()));
+
+        int offset = results.size();
+        List<T> created = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        BatchResultDTO[] chunkResults = new BatchResultDTO[chunk.size()];
+        int updated = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            T item = chunk.get(i);
+            Long id = idGetter.apply(item);
+            if (id == null) {
+                created.add(item);
+                createdIndexes.add(i);
+            } else if (existing.containsKey(id)) {
+                updater.accept(item, existing.get(id));
+                chunkResults[i] = new BatchResultDTO(offset + i, id, BatchResultDTO.Status.UPDATED);
+                updated++;
+            } else {
+                chunkResults[i] = new BatchResultDTO(offset + i, id, BatchResultDTO.Status.NOT_FOUND);
+            }
+        }
+        repository.persistAndFlushInBatch(created);
+        for (int i = 0; i < created.size(); i++) {
+            int index = createdIndexes.get(i);
+            chunkResults[index] = new BatchResultDTO(offset + index, idGetter.apply(created.get(i)), BatchResultDTO.Status.CREATED);
+        }
+        results.addAll(List.of(chunkResults));
+
+        batchMetersService.trackChunk(entityName, System.nanoTime() - start);
+        batchMetersService.trackRows(entityName, BatchResultDTO.Status.CREATED.name(), created.size());
+        batchMetersService.trackRows(entityName, BatchResultDTO.Status.UPDATED.name(), updated);
+    }
+
+    private <T, R extends JpaRepository<T, Long> & BatchRepository<T>> void deleteChunk(
+        String entityName,
+        List<Long> chunk,
+        R repository,
+        Function<T, Long> idGetter,
+        List<BatchResultDTO> results
+    ) {
+        long start = System.nanoTime();
+        List<Long> ids = chunk.stream().filter(id -> id != null).distinct().collect(Collectors.toList());
+        Map<Long, T> existing = ids.isEmpty()
+            ? Map.of()
+            : repository.findAllById(ids).stream().collect(Collectors.toMap(idGetter, Function.identity()));
+
+        List<T> deleted = new ArrayList<>();
+        for (Long id : chunk) {
+            // an id repeated in the chunk is only deleted once
+            T entity = id == null ? null : existing.remove(id);
+            if (entity != null) {
+                deleted.add(entity);
+                results.add(new BatchResultDTO(results.size(), id, BatchResultDTO.Status.DELETED));
+            } else {
+                results.add(new BatchResultDTO(results.size(), id, BatchResultDTO.Status.NOT_FOUND));
+            }
+        }
+        repository.removeAndFlushInBatch(deleted);
+
+        batchMetersService.trackChunk(entityName, System.nanoTime() - start);
+        batchMetersService.trackRows(entityName, BatchResultDTO.Status.DELETED.name(), deleted.size());
+    }
+}
@@ -0,0 +1,328 @@
+package pagnation.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pagnation.config.ApplicationProperties;
+import pagnation.domain.User;
+import pagnation.repository.PostupciRepository;
+import pagnation.repository.UserRepository;
+
+/**
+ * Preloading of the caches on startup, so that the first requests after a deploy don't all go to the database.
+ * <p>
+ * The warm-up runs as an {@link ApplicationRunner}, once the liveness state of the application is CORRECT and before
+ * its readiness state is ACCEPTING_TRAFFIC: the {@code livenessState} health group is UP during the warm-up, and the
+ * {@code readinessState} health group reports OUT_OF_SERVICE until it is done or has timed out. It preloads the keys
+ * the regions held at the previous shutdown, or else the most recent entries, with
+ * {@code application.cache.warm-up.parallelism} queries at a time, and no more than {@code max-entries} entries, and
+ * the heap entries of each region.
+ * <p>
+ * Its queries run in read-write transactions, so that they go to the primary: the transactions on a read replica
+ * don't put anything in the caches, see {@link pagnation.repository.ReplicaReads}.
+ */
+@Service
+public class CacheWarmUpService implements ApplicationRunner {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final ApplicationProperties.Cache.WarmUp properties;
+
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final UserRepository userRepository;
+
+    private final PostupciRepository postupciRepository;
+
+    private final TransactionTemplate transaction;
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CacheWarmUpService(
+        ApplicationProperties applicationProperties,
+        javax.cache.CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory,
+        UserRepository userRepository,
+        PostupciRepository postupciRepository,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper
+    ) {
+        this.properties = applicationProperties.getCache().getWarmUp();
+        this.regions = applicationProperties.getCache().getRegions();
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.userRepository = userRepository;
+        this.postupciRepository = postupciRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Preload the caches, before the application reports ready.
+     */
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Map<String, List<String>> savedKeys = readSavedKeys();
+        int budget = properties.getMaxEntries();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (Map.Entry<String, Integer> entity : properties.getEntities().entrySet()) {
+            String entityName = entity.getKey();
+            int limit = limit(entityName, entity.getValue(), budget);
+            budget -= limit;
+            List<String> ids = savedKeys.getOrDefault(entityName, Collections.emptyList());
+            if (ids.isEmpty()) {
+                tasks.add(() -> loadRecentEntities(entityName, limit));
+            } else {
+                for (List<String> chunk : chunks(ids, limit)) {
+                    tasks.add(() -> loadEntities(entityName, chunk));
+                }
+            }
+        }
+        int users = limit(UserRepository.USERS_BY_LOGIN_CACHE, properties.getUsers(), budget);
+        budget -= users;
+        List<String> logins = savedKeys.getOrDefault(UserRepository.USERS_BY_LOGIN_CACHE, Collections.emptyList());
+        if (logins.isEmpty() && users > 0) {
+            logins = inTransaction(() -> findRecentLogins(users));
+        }
+        for (List<String> chunk : chunks(logins, users)) {
+            tasks.add(() -> loadUsers(chunk));
+        }
+        int pages = Math.min(properties.getPostupciPages(), budget / Math.max(1, properties.getPageSize()));
+        for (int page = 0; page < pages; page++) {
+            PageRequest pageRequest = PageRequest.of(page, properties.getPageSize(), Sort.by("id"));
+            tasks.add(() -> inTransaction(() -> postupciRepository.findAll(pageRequest).getNumberOfElements()));
+        }
+
+        int loaded = run(tasks);
+        log.info("Warmed up the caches with {} entries in {} ms", loaded, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Save the keys held by the warmed-up regions, to preload them at the next start. They are the first keys in the
+     * order of each cache, which says nothing of how much they are used.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void saveKeys() {
+        if (!properties.isEnabled() || properties.getSavedKeysFile() == null) {
+            return;
+        }
+        Map<String, List<String>> savedKeys = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entity : properties.getEntities().entrySet()) {
+            EntityPersister persister = getPersister(entity.getKey());
+            if (persister.canReadFromCache()) {
+                // the keys of the entity regions wrap the ids
+                Function<Object, Object> toId = key -> persister.getCacheAccessStrategy().getCacheKeyId(key);
+                savedKeys.put(entity.getKey(), readKeys(entity.getKey(), entity.getValue(), toId));
+            }
+        }
+        savedKeys.put(
+            UserRepository.USERS_BY_LOGIN_CACHE,
+            readKeys(UserRepository.USERS_BY_LOGIN_CACHE, properties.getUsers(), Function.identity())
+        );
+        try {
+            objectMapper.writeValue(new File(properties.getSavedKeysFile()), savedKeys);
+            log.debug("Saved the keys of the caches to {}", properties.getSavedKeysFile());
+        } catch (IOException e) {
+            log.warn("Cannot save the keys of the caches to {}: {}", properties.getSavedKeysFile(), e.getMessage());
+        }
+    }
+
+    private Map<String, List<String>> readSavedKeys() {
+        if (properties.getSavedKeysFile() == null) {
+            return Collections.emptyMap();
+        }
+        File file = new File(properties.getSavedKeysFile());
+        if (!file.isFile()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return objectMapper.readValue(file, new TypeReference<Map<String, List<String>>>() {});
+        } catch (IOException e) {
+            log.warn("Cannot read the keys of the caches from {}: {}", file, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    private List<String> readKeys(String cacheName, int limit, Function<Object, Object> toId) {
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+        List<String> keys = new ArrayList<>();
+        if (cache == null) {
+            return keys;
+        }
+        for (javax.cache.Cache.Entry<Object, Object> entry : cache) {
+            if (keys.size() >= limit) {
+                break;
+            }
+            keys.add(String.valueOf(toId.apply(entry.getKey())));
+        }
+        return keys;
+    }
+
+    /**
+     * The entries to preload in a region: no more than configured, than the heap of the region holds, and than what
+     * remains of the budget.
+     */
+    private int limit(String cacheName, int configured, int budget) {
+        ApplicationProperties.Cache.Region region = regions.get(cacheName);
+        int limit = Math.min(configured, budget);
+        if (region != null && region.getHeapEntries() != null) {
+            limit = (int) Math.min(limit, region.getHeapEntries());
+        }
+        return Math.max(0, limit);
+    }
+
+    private static List<List<String>> chunks(List<String> keys, int limit) {
+        List<String> bounded = keys.subList(0, Math.min(keys.size(), limit));
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < bounded.size(); i += CHUNK_SIZE) {
+            chunks.add(new ArrayList<>(bounded.subList(i, Math.min(bounded.size(), i + CHUNK_SIZE))));
+        }
+        return chunks;
+    }
+
+    private int loadEntities(String entityName, List<String> ids) {
+        EntityPersister persister = getPersister(entityName);
+        Class<?> idType = persister.getIdentifierType().getReturnedClass();
+        List<Object> typedIds = ids
+            .stream()
+            .map(id -> ClusterCacheInvalidator.toIdentifier(idType, id))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        if (typedIds.isEmpty()) {
+            return 0;
+        }
+        String query = "select e from " + entityName + " e where e." + persister.getIdentifierPropertyName() + " in :ids";
+        return inTransaction(() -> entityManager.createQuery(query).setParameter("ids", typedIds).getResultList().size());
+    }
+
+    private int loadRecentEntities(String entityName, int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        EntityPersister persister = getPersister(entityName);
+        String query = "select e from " + entityName + " e order by e." + persister.getIdentifierPropertyName() + " desc";
+        return inTransaction(() -> entityManager.createQuery(query).setMaxResults(limit).getResultList().size());
+    }
+
+    private List<String> findRecentLogins(int limit) {
+        return userRepository
+            .findAllByIdNotNullAndActivatedIsTrue(PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "lastModifiedDate")))
+            .map(User::getLogin)
+            .getContent();
+    }
+
+    private int loadUsers(List<String> logins) {
+        // one by one, through the usersByLogin cache
+        return inTransaction(() ->
+            (int) logins.stream().map(userRepository::findOneWithAuthoritiesByLogin).filter(Optional::isPresent).count()
+        );
+    }
+
+    private EntityPersister getPersister(String entityName) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMetamodel().entityPersister(entityName);
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transaction.execute(status -> work.get());
+    }
+
+    private int run(List<Callable<Integer>> tasks) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), new WarmUpThreadFactory());
+        int loaded = 0;
+        int cancelled = 0;
+        try {
+            // the tasks still running at the timeout are cancelled
+            for (Future<Integer> future : executor.invokeAll(tasks, properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                if (future.isCancelled()) {
+                    cancelled++;
+                    continue;
+                }
+                try {
+                    loaded += future.get();
+                } catch (ExecutionException e) {
+                    log.warn("Cache warm-up query failed: {}", e.getCause().toString());
+                }
+            }
+            if (cancelled > 0) {
+                log.warn(
+                    "Cache warm-up timed out after {}, {} of {} queries were abandoned",
+                    properties.getTimeout(),
+                    cancelled,
+                    tasks.size()
+                );
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return loaded;
+    }
+
+    private static final class WarmUpThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cache-warm-up-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package pagnation.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pagnation.config.ApplicationProperties;
+import pagnation.domain.EntityChangedEvent;
+import pagnation.domain.Ponude;
+import pagnation.repository.NotificationRepository;
+
+/**
+ * Invalidation of the caches of the other nodes: once a transaction commits, the entities it changed, and the cache
+ * keys evicted through {@link #evictOnOtherNodes(String, String)}, are sent to the
+ * {@code application.cache.invalidation.channel} notification channel, and each node evicts what the others sent.
+ * <p>
+ * A remote entity change evicts the entity and its collections from the second-level cache, invalidates the cached
+ * query results on its tables, moves its {@link EntityChangeStamps} stamp, and for a {@link Ponude} clears the
+ * {@link PonudeCountCache}. When the channel is lost, all the caches are cleared on reconnection, as evictions may have
+ * been missed meanwhile.
+ * <p>
+ * No more than {@code application.cache.invalidation.max-pending} evictions wait to be sent: past it, the evictions of
+ * an entity are coalesced into the eviction of its whole region, and the evictions of a cache key into the clearing of
+ * the cache. The coalesced evictions are counted by the {@code cache.invalidation.dropped} meter.
+ */
+@Service
+public class ClusterCacheInvalidator implements SmartLifecycle {
+
+    private static final String SEPARATOR = "|";
+    private static final String ENTITY = "entity";
+    private static final String ENTITY_REGION = "entities";
+    private static final String KEY = "key";
+    private static final String CACHE = "cache";
+
+    public static final String DROPPED_METER_NAME = "cache.invalidation.dropped";
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final long STOP_TIMEOUT_MILLIS = 2000;
+
+    private final Logger log = LoggerFactory.getLogger(ClusterCacheInvalidator.class);
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private final NotificationRepository notificationRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CacheManager cacheManager;
+
+    private final PonudeCountCache ponudeCountCache;
+
+    private final EntityChangeStamps entityChangeStamps;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final BlockingQueue<String> outgoing;
+
+    // the evictions of whole regions or caches, which replace the evictions dropped from the full queue
+    private final Set<String> coalesced = ConcurrentHashMap.newKeySet();
+
+    private final Counter droppedEntities;
+
+    private final Counter droppedKeys;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    public ClusterCacheInvalidator(
+        ApplicationProperties applicationProperties,
+        NotificationRepository notificationRepository,
+        EntityManagerFactory entityManagerFactory,
+        CacheManager cacheManager,
+        PonudeCountCache ponudeCountCache,
+        EntityChangeStamps entityChangeStamps,
+        MeterRegistry registry
+    ) {
+        this.properties = applicationProperties.getCache().getInvalidation();
+        this.outgoing = new LinkedBlockingQueue<>(Math.max(1, properties.getMaxPending()));
+        this.notificationRepository = notificationRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+        this.ponudeCountCache = ponudeCountCache;
+        this.entityChangeStamps = entityChangeStamps;
+        this.droppedEntities = droppedCounter(registry, ENTITY);
+        this.droppedKeys = droppedCounter(registry, KEY);
+    }
+
+    private static Counter droppedCounter(MeterRegistry registry, String kind) {
+        return Counter
+            .builder(DROPPED_METER_NAME)
+            .tag("kind", kind)
+            .description("The evictions dropped from the full queue, and sent as the eviction of their whole region or cache")
+            .register(registry);
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (properties.isEnabled() && event.getPhase() == EntityChangedEvent.Phase.COMMITTED) {
+            send(ENTITY, event.getEntityClass().getName(), String.valueOf(event.getId()));
+        }
+    }
+
+    /**
+     * Evict a key of a cache on the other nodes, once the current transaction, if any, commits. The caller evicts it
+     * from its own cache.
+     *
+     * @param cacheName the name of the cache.
+     * @param key the key, which must be a {@link String}.
+     */
+    public void evictOnOtherNodes(String cacheName, String key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(KEY, cacheName, key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(KEY, cacheName, key);
+                }
+            }
+        );
+    }
+
+    private void send(String kind, String name, String key) {
+        if (outgoing.offer(message(kind, name, key))) {
+            return;
+        }
+        if (ENTITY.equals(kind)) {
+            droppedEntities.increment();
+            coalesced.add(message(ENTITY_REGION, name, ""));
+        } else {
+            droppedKeys.increment();
+            coalesced.add(message(CACHE, name, ""));
+        }
+    }
+
+    /**
+     * Take the evictions waiting to be sent, the coalesced ones included.
+     *
+     * @param pending the list to add the evictions to.
+     * @param maxEvictions the maximum number of evictions to take from the queue.
+     */
+    void drainTo(List<String> pending, int maxEvictions) {
+        outgoing.drainTo(pending, maxEvictions);
+        for (String message : coalesced) {
+            if (coalesced.remove(message)) {
+                pending.add(message);
+            }
+        }
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "cache-invalidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        try {
+            // the thread sends the pending evictions before closing the channel
+            thread.join(STOP_TIMEOUT_MILLIS);
+            thread.interrupt();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        List<String> pending = new ArrayList<>();
+        boolean reconnecting = false;
+        while (running) {
+            try (NotificationRepository.Listener listener = notificationRepository.listen(properties.getChannel())) {
+                log.info("Listening to the cache invalidations of channel {}", properties.getChannel());
+                if (reconnecting) {
+                    clearAll();
+                }
+                while (running) {
+                    String first = outgoing.poll(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    if (first != null) {
+                        pending.add(first);
+                    }
+                    drainTo(pending, MAX_BATCH_SIZE - pending.size());
+                    listener.notify(pending);
+                    pending.clear();
+                    listener.poll().forEach(this::apply);
+                }
+                drainTo(pending, Integer.MAX_VALUE);
+                listener.notify(pending);
+            } catch (SQLException e) {
+                log.warn(
+                    "Lost the cache invalidation channel {}, reconnecting in {}: {}",
+                    properties.getChannel(),
+                    properties.getRetryAfter(),
+                    e.getMessage()
+                );
+                reconnecting = true;
+                if (!sleep(properties.getRetryAfter().toMillis())) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private String message(String kind, String name, String key) {
+        return String.join(SEPARATOR, nodeId, kind, name, key);
+    }
+
+    /**
+     * Apply a message of the channel, unless it was sent by this node.
+     *
+     * @param message the message.
+     */
+    void apply(String message) {
+        String[] parts = message.split("\\" + SEPARATOR, 4);
+        if (parts.length != 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        log.debug("Applying remote cache invalidation : {}", message);
+        try {
+            switch (parts[1]) {
+                case ENTITY:
+                    evictEntity(parts[2], parts[3]);
+                    break;
+                case ENTITY_REGION:
+                    evictEntity(parts[2], null);
+                    break;
+                case KEY:
+                    Cache cache = cacheManager.getCache(parts[2]);
+                    if (cache != null) {
+                        cache.evict(parts[3]);
+                    }
+                    break;
+                case CACHE:
+                    Cache clearedCache = cacheManager.getCache(parts[2]);
+                    if (clearedCache != null) {
+                        clearedCache.clear();
+                    }
+                    break;
+                default:
+                    log.debug("Unknown cache invalidation : {}", message);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot apply the cache invalidation {}: {}", message, e.getMessage());
+        }
+    }
+
+    /**
+     * Evict an entity, or the whole region of the entity when its id is {@code null}.
+     */
+    private void evictEntity(String entityName, String id) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = sessionFactory.getMetamodel().entityPersister(entityName);
+        Serializable typedId = id == null ? null : toIdentifier(persister.getIdentifierType().getReturnedClass(), id);
+        if (typedId == null) {
+            // the whole region is evicted
+            sessionFactory.getCache().evictEntityData(entityName);
+        } else {
+            sessionFactory.getCache().evictEntityData(entityName, typedId);
+        }
+        for (CollectionPersister collection : sessionFactory.getMetamodel().collectionPersisters().values()) {
+            if (collection.hasCache() && collection.getOwnerEntityPersister() == persister) {
+                if (typedId == null) {
+                    sessionFactory.getCache().evictCollectionData(collection.getRole());
+                } else {
+                    sessionFactory.getCache().evictCollectionData(collection.getRole(), typedId);
+                }
+            }
+        }
+        if (sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()) {
+            String[] spaces = Arrays.stream(persister.getPropertySpaces()).map(String::valueOf).toArray(String[]::new);
+            try (Session session = sessionFactory.openSession()) {
+                sessionFactory.getCache().getTimestampsCache().invalidate(spaces, (SharedSessionContractImplementor) session);
+            }
+        }
+        if (persister.getMappedClass() != null) {
+            // the ETags and the cached list responses of the entity
+            entityChangeStamps.touch(persister.getMappedClass());
+        }
+        if (Ponude.class.getName().equals(entityName)) {
+            ponudeCountCache.clear();
+        }
+    }
+
+    /**
+     * Convert an id sent as text to the type of the identifier of an entity.
+     *
+     * @param type the type of the identifier.
+     * @param id the id as text.
+     * @return the id, or {@code null} if the type is not supported.
+     */
+    static Serializable toIdentifier(Class<?> type, String id) {
+        if (Long.class.equals(type)) {
+            return Long.valueOf(id);
+        }
+        if (Integer.class.equals(type)) {
+            return Integer.valueOf(id);
+        }
+        if (String.class.equals(type)) {
+            return id;
+        }
+        return null;
+    }
+
+    private void clearAll() {
+        log.info("Clearing the caches, as evictions may have been missed while disconnected");
+        entityManagerFactory.getCache().evictAll();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            // the update timestamps must outlive the cached query results
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && !RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(cacheName)) {
+                cache.clear();
+            }
+        }
+        ponudeCountCache.clear();
+    }
+}
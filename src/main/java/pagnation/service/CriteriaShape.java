@@ -0,0 +1,75 @@
+package pagnation.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Sort;
+import pagnation.service.criteria.SearchStringFilter;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * The shape of a criteria query: the filter operators and the sort it uses, without their values, such as
+ * {@code broj.greaterThan&ime.in&sort=broj:ASC,id:ASC}. Queries of a same shape usually share a same plan.
+ */
+public final class CriteriaShape {
+
+    public static final String UNFILTERED = "unfiltered";
+
+    private final List<String> parts = new ArrayList<>();
+
+    public CriteriaShape filter(String field, Filter<?> filter) {
+        if (filter == null) {
+            return this;
+        }
+        operator(field, "equals", filter.getEquals());
+        operator(field, "notEquals", filter.getNotEquals());
+        operator(field, "specified", filter.getSpecified());
+        operator(field, "in", filter.getIn());
+        operator(field, "notIn", filter.getNotIn());
+        if (filter instanceof RangeFilter) {
+            RangeFilter<?> range = (RangeFilter<?>) filter;
+            operator(field, "greaterThan", range.getGreaterThan());
+            operator(field, "greaterThanOrEqual", range.getGreaterThanOrEqual());
+            operator(field, "lessThan", range.getLessThan());
+            operator(field, "lessThanOrEqual", range.getLessThanOrEqual());
+        }
+        if (filter instanceof StringFilter) {
+            StringFilter string = (StringFilter) filter;
+            operator(field, "contains", string.getContains());
+            operator(field, "doesNotContain", string.getDoesNotContain());
+        }
+        if (filter instanceof SearchStringFilter) {
+            operator(field, "search", ((SearchStringFilter) filter).getSearch());
+        }
+        return this;
+    }
+
+    public CriteriaShape distinct(Boolean distinct) {
+        if (distinct != null) {
+            parts.add("distinct=" + distinct);
+        }
+        return this;
+    }
+
+    public CriteriaShape sort(Sort sort) {
+        if (sort != null && sort.isSorted()) {
+            parts.add(
+                "sort=" + sort.stream().map(order -> order.getProperty() + ":" + order.getDirection()).collect(Collectors.joining(","))
+            );
+        }
+        return this;
+    }
+
+    private void operator(String field, String operator, Object value) {
+        if (value != null) {
+            parts.add(field + "." + operator);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return parts.isEmpty() ? UNFILTERED : String.join("&", parts);
+    }
+}
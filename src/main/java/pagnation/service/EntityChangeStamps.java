@@ -0,0 +1,51 @@
+package pagnation.service;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pagnation.domain.EntityChangedEvent;
+
+/**
+ * Per-entity change stamps, which change whenever an entity of their type is written: a response computed while
+ * a stamp had a given value can be reused as long as the stamp keeps that value.
+ * <p>
+ * A stamp moves both when a change is flushed and when its transaction completes, so that a response read between
+ * the two never keeps the stamp of the committed state. Stamps start from a random epoch, so that the stamps of two
+ * application instances, or of two runs of the same instance, never collide.
+ */
+@Service
+public class EntityChangeStamps {
+
+    private final String epoch = Long.toHexString(new SecureRandom().nextLong());
+
+    private final Map<Class<?>, AtomicLong> stamps = new ConcurrentHashMap<>();
+
+    /**
+     * @param entityClass the class of the entity.
+     * @return the current stamp of the entity.
+     */
+    public String getStamp(Class<?> entityClass) {
+        return epoch + "-" + getCounter(entityClass).get();
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        getCounter(event.getEntityClass()).incrementAndGet();
+    }
+
+    /**
+     * Move the stamp of an entity changed by another application instance.
+     *
+     * @param entityClass the class of the entity.
+     */
+    public void touch(Class<?> entityClass) {
+        getCounter(entityClass).incrementAndGet();
+    }
+
+    private AtomicLong getCounter(Class<?> entityClass) {
+        return stamps.computeIfAbsent(entityClass, key -> new AtomicLong());
+    }
+}
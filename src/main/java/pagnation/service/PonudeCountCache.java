@@ -0,0 +1,232 @@
+package pagnation.service;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pagnation.domain.EntityChangedEvent;
+import pagnation.domain.Ponude;
+import pagnation.repository.ReplicaReads;
+import pagnation.service.criteria.PonudeCriteria;
+import pagnation.service.criteria.SearchStringFilter;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Cache of the number of {@link Ponude} matching a {@link PonudeCriteria}, keyed by a normalized form of the criteria.
+ * <p>
+ * Counts of criteria made only of {@code equals}, {@code in} and {@code specified} filters, including the unfiltered
+ * count, are adjusted in place when a ponude is inserted, updated or deleted. Any other count, such as the count of an
+ * {@code ime.search}, is evicted and computed again on its next use.
+ * <p>
+ * A count is only stored when it was read in a read-only transaction, which cannot see uncommitted changes of its own,
+ * when no ponude change was in flight while it was read, as it could then be adjusted twice, and when it was not read
+ * from a read replica, which may lag behind the changes.
+ */
+@Service
+public class PonudeCountCache {
+
+    public static final String PONUDE_COUNT_CACHE = "ponudeCountByCriteria";
+
+    private final Logger log = LoggerFactory.getLogger(PonudeCountCache.class);
+
+    private final CacheManager cacheManager;
+
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public PonudeCountCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Get the number of ponudes matching a criteria, from the cache or else from the counter.
+     *
+     * @param criteria the criteria.
+     * @param counter the count query, run on a cache miss.
+     * @return the number of matching ponudes.
+     */
+    public long count(PonudeCriteria criteria, LongSupplier counter) {
+        Cache<Object, Object> cache = getCache();
+        String key = normalize(criteria);
+        Object cached = cache.get(key);
+        if (cached != null) {
+            return ((CountEntry) cached).count;
+        }
+
+        long generationBefore = generation.get();
+        boolean cacheable = pendingChanges.get() == 0 && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        long count = counter.getAsLong();
+        if (cacheable && !ReplicaReads.isCurrentTransactionOnReplica()) {
+            synchronized (this) {
+                if (pendingChanges.get() == 0 && generation.get() == generationBefore) {
+                    PonudeCriteria snapshot = criteria == null ? new PonudeCriteria() : criteria.copy();
+                    cache.put(key, new CountEntry(snapshot, isAdjustable(snapshot), count));
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Evict all the counts, for changes which are not published as {@link EntityChangedEvent}s.
+     */
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        getCache().clear();
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!Ponude.class.equals(event.getEntityClass())) {
+            return;
+        }
+        switch (event.getPhase()) {
+            case FLUSHED:
+                pendingChanges.incrementAndGet();
+                generation.incrementAndGet();
+                break;
+            case COMMITTED:
+                adjust(event);
+                break;
+            default:
+                pendingChanges.updateAndGet(pending -> Math.max(0, pending - 1));
+                generation.incrementAndGet();
+        }
+    }
+
+    private synchronized void adjust(EntityChangedEvent event) {
+        log.debug("Adjusting Ponude counts for : {}", event);
+        boolean previousStateKnown = event.getType() == EntityChangedEvent.Type.INSERT || event.getPreviousState() != null;
+        Cache<Object, Object> cache = getCache();
+        List<Object> evicted = new ArrayList<>();
+        Map<Object, Object> adjusted = new HashMap<>();
+        for (Cache.Entry<Object, Object> cached : cache) {
+            CountEntry entry = (CountEntry) cached.getValue();
+            if (!entry.adjustable || !previousStateKnown) {
+                evicted.add(cached.getKey());
+                continue;
+            }
+            int delta = (matches(entry.criteria, event.getState()) ? 1 : 0) - (matches(entry.criteria, event.getPreviousState()) ? 1 : 0);
+            if (delta != 0) {
+                adjusted.put(cached.getKey(), new CountEntry(entry.criteria, true, entry.count + delta));
+            }
+        }
+        evicted.forEach(cache::remove);
+        cache.putAll(adjusted);
+        pendingChanges.updateAndGet(pending -> Math.max(0, pending - 1));
+        generation.incrementAndGet();
+    }
+
+    private Cache<Object, Object> getCache() {
+        return cacheManager.getCache(PONUDE_COUNT_CACHE);
+    }
+
+    private static String normalize(PonudeCriteria criteria) {
+        if (criteria == null) {
+            return "";
+        }
+        return "id=" + normalize(criteria.getId()) + ";broj=" + normalize(criteria.getBroj()) + ";ime=" + normalize(criteria.getIme());
+    }
+
+    private static <T> String normalize(Filter<T> filter) {
+        if (filter == null) {
+            return "";
+        }
+        Filter<T> normalized = filter.copy();
+        if (normalized.getIn() != null) {
+            normalized.setIn(normalized.getIn().stream().distinct().sorted().collect(Collectors.toList()));
+        }
+        if (normalized.getNotIn() != null) {
+            normalized.setNotIn(normalized.getNotIn().stream().distinct().sorted().collect(Collectors.toList()));
+        }
+        return normalized.toString();
+    }
+
+    private static boolean isAdjustable(PonudeCriteria criteria) {
+        return isEqualityFilter(criteria.getId()) && isEqualityFilter(criteria.getBroj()) && isEqualityFilter(criteria.getIme());
+    }
+
+    private static boolean isEqualityFilter(Filter<?> filter) {
+        if (filter == null) {
+            return true;
+        }
+        if (filter.getNotEquals() != null || filter.getNotIn() != null) {
+            return false;
+        }
+        if (filter instanceof RangeFilter) {
+            RangeFilter<?> range = (RangeFilter<?>) filter;
+            if (
+                range.getGreaterThan() != null ||
+                range.getGreaterThanOrEqual() != null ||
+                range.getLessThan() != null ||
+                range.getLessThanOrEqual() != null
+            ) {
+                return false;
+            }
+        }
+        if (filter instanceof StringFilter) {
+            StringFilter string = (StringFilter) filter;
+            if (string.getContains() != null || string.getDoesNotContain() != null) {
+                return false;
+            }
+        }
+        if (filter instanceof SearchStringFilter) {
+            return ((SearchStringFilter) filter).getSearch() == null;
+        }
+        return true;
+    }
+
+    private static boolean matches(PonudeCriteria criteria, Map<String, Object> state) {
+        return (
+            state != null &&
+            matches(criteria.getId(), state.get("id")) &&
+            matches(criteria.getBroj(), state.get("broj")) &&
+            matches(criteria.getIme(), state.get("ime"))
+        );
+    }
+
+    private static boolean matches(Filter<?> filter, Object value) {
+        if (filter == null) {
+            return true;
+        }
+        if (filter.getEquals() != null && !filter.getEquals().equals(value)) {
+            return false;
+        }
+        if (filter.getIn() != null && !filter.getIn().contains(value)) {
+            return false;
+        }
+        return filter.getSpecified() == null || filter.getSpecified() == (value != null);
+    }
+
+    private static final class CountEntry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PonudeCriteria criteria;
+
+        private final boolean adjustable;
+
+        private final long count;
+
+        private CountEntry(PonudeCriteria criteria, boolean adjustable, long count) {
+            this.criteria = criteria;
+            this.adjustable = adjustable;
+            this.count = count;
+        }
+    }
+}
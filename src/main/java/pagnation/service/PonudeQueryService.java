@@ -1,36 +1,96 @@
 package pagnation.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.metamodel.SingularAttribute;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pagnation.config.ApplicationProperties;
 import pagnation.domain.*; // for static metamodels
 import pagnation.domain.Ponude;
+import pagnation.management.QueryShapeMetersService;
 import pagnation.repository.PonudeRepository;
+import pagnation.repository.ProjectionRepository;
+import pagnation.repository.QueryPlanRepository;
+import pagnation.repository.QueryPlanRepository.SqlQuery;
+import pagnation.repository.RowValueComparisonContributor;
+import pagnation.repository.TableStatisticsRepository;
 import pagnation.service.criteria.PonudeCriteria;
+import pagnation.service.dto.KeysetCursor;
+import pagnation.service.dto.KeysetSlice;
 import tech.jhipster.service.QueryService;
+import tech.jhipster.service.filter.Filter;
 
 /**
  * Service for executing complex queries for {@link Ponude} entities in the database.
  * The main input is a {@link PonudeCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
  * It returns a {@link List} of {@link Ponude} or a {@link Page} of {@link Ponude} which fulfills the criteria.
+ * The queries are tracked by the {@link QueryShapeMetersService}, by {@link CriteriaShape}, and the results of the
+ * shapes listed in {@code application.cache.ponude-query-shapes} are kept in the Hibernate query cache.
  */
 @Service
 @Transactional(readOnly = true)
 public class PonudeQueryService extends QueryService<Ponude> {
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private static final String ENTITY_NAME = "ponude";
+
     private final Logger log = LoggerFactory.getLogger(PonudeQueryService.class);
 
     private final PonudeRepository ponudeRepository;
 
-    public PonudeQueryService(PonudeRepository ponudeRepository) {
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    private final PonudeCountCache ponudeCountCache;
+
+    private final QueryShapeMetersService queryShapeMetersService;
+
+    private final QueryPlanRepository queryPlanRepository;
+
+    private final ProjectionRepository projectionRepository;
+
+    private final Set<String> cacheableShapes;
+
+    private volatile Boolean rowValueComparisonSupported;
+
+    public PonudeQueryService(
+        PonudeRepository ponudeRepository,
+        TableStatisticsRepository tableStatisticsRepository,
+        PonudeCountCache ponudeCountCache,
+        QueryShapeMetersService queryShapeMetersService,
+        QueryPlanRepository queryPlanRepository,
+        ProjectionRepository projectionRepository,
+        ApplicationProperties applicationProperties
+    ) {
         this.ponudeRepository = ponudeRepository;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.ponudeCountCache = ponudeCountCache;
+        this.queryShapeMetersService = queryShapeMetersService;
+        this.queryPlanRepository = queryPlanRepository;
+        this.projectionRepository = projectionRepository;
+        this.cacheableShapes = Set.copyOf(applicationProperties.getCache().getPonudeQueryShapes());
     }
 
     /**
@@ -42,11 +102,12 @@ public class PonudeQueryService extends QueryService<Ponude> {
     public List<Ponude> findByCriteria(PonudeCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<Ponude> specification = createSpecification(criteria);
-        return ponudeRepository.findAll(specification);
+        return track("list", criteria, specification, Sort.unsorted(), () -> ponudeRepository.findAll(specification), List::size);
     }
 
     /**
      * Return a {@link Page} of {@link Ponude} which matches the criteria from the database.
+     * The total is read from the {@link PonudeCountCache}.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
@@ -55,7 +116,166 @@ public class PonudeQueryService extends QueryService<Ponude> {
     public Page<Ponude> findByCriteria(PonudeCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Ponude> specification = createSpecification(criteria);
-        return ponudeRepository.findAll(specification, page);
+        if (page.isUnpaged()) {
+            return track(
+                "list",
+                criteria,
+                specification,
+                page.getSort(),
+                () -> ponudeRepository.findAll(specification, page),
+                Page::getNumberOfElements
+            );
+        }
+        List<Ponude> content = findAll("page", criteria, specification, page.getSort(), page.getOffset(), page.getPageSize());
+        return PageableExecutionUtils.getPage(content, page, () -> ponudeCountCache.count(criteria, () -> count(criteria, specification)));
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Ponude} which matches the criteria from the database, without counting them:
+     * one more entity than the page size is read to know if there is a next slice.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Ponude> findSliceByCriteria(PonudeCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Ponude> specification = createSpecification(criteria);
+        List<Ponude> rows = findAll("slice", criteria, specification, page.getSort(), page.getOffset(), page.getPageSize() + 1);
+        boolean hasNext = rows.size() > page.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, page.getPageSize()) : rows, page, hasNext);
+    }
+
+    /**
+     * Return a {@link Page} of {@link Ponude} which matches the criteria from the database.
+     * When the criteria has no filter, the total is the row estimate of the database planner instead of a count.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Ponude> findByCriteriaWithEstimatedCount(PonudeCriteria criteria, Pageable page) {
+        log.debug("find by criteria with estimated count : {}, page: {}", criteria, page);
+        OptionalLong estimate = isUnfiltered(criteria)
+            ? tableStatisticsRepository.estimateRowCount(PonudeRepository.TABLE_NAME)
+            : OptionalLong.empty();
+        if (estimate.isEmpty()) {
+            return findByCriteria(criteria, page);
+        }
+        return new PageImpl<>(findSliceByCriteria(criteria, page).getContent(), page, estimate.getAsLong());
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of {@link Ponude} which matches the criteria from the database, seeking past a cursor
+     * on {@code (sort key, id)} instead of skipping rows with an offset.
+     * Rows without a sort key are returned after all the others, ordered by id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The cursor returned with the previous slice, or an empty string for the first slice.
+     * @param page The size and, for the first slice, the sort of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Ponude> findByCriteria(PonudeCriteria criteria, String after, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, after, page);
+        final KeysetCursor cursor = after.isEmpty() ? KeysetCursor.first(page.getSort()) : KeysetCursor.decode(after);
+        final Specification<Ponude> specification = createSpecification(criteria);
+        final Specification<Ponude> keysetSpecification = createKeysetSpecification(cursor);
+        final Sort.Direction direction = cursor.getDirection();
+        final int size = page.getPageSize();
+        final boolean nullKeys = !cursor.isStart() && !cursor.isIdOrdered() && cursor.getValue() == null;
+
+        List<Ponude> rows = new ArrayList<>();
+        if (!nullKeys) {
+            Sort sort = cursor.isIdOrdered() ? Sort.by(direction, "id") : Sort.by(direction, cursor.getProperty(), "id");
+            rows.addAll(findAll("keyset", criteria, specification.and(keysetSpecification), sort, 0, size + 1));
+        }
+        if (rows.size() <= size && !cursor.isIdOrdered()) {
+            Long lastId = nullKeys ? cursor.getId() : null;
+            Specification<Ponude> nullKeySpecification = specification.and(createNullKeySpecification(cursor, lastId));
+            rows.addAll(findAll("keyset-null-keys", criteria, nullKeySpecification, Sort.by(direction, "id"), 0, size + 1 - rows.size()));
+        }
+
+        if (rows.size() <= size) {
+            return new KeysetSlice<>(rows, null);
+        }
+        List<Ponude> content = rows.subList(0, size);
+        Ponude last = content.get(size - 1);
+        return new KeysetSlice<>(content, cursor.next(last.getId(), getKeysetValue(last, cursor.getProperty())).encode());
+    }
+
+    /**
+     * Return a {@link Page} of some fields of the {@link Ponude} which match the criteria from the database, read as
+     * rows instead of entities.
+     * The total is read from the {@link PonudeCountCache}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param fields The fields to read.
+     * @param page The page, which should be returned.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findProjectedByCriteria(PonudeCriteria criteria, List<String> fields, Pageable page) {
+        log.debug("find projected by criteria : {}, fields: {}, page: {}", criteria, fields, page);
+        final Specification<Ponude> specification = createSpecification(criteria);
+        List<Map<String, Object>> content = findProjected(criteria, specification, fields, page, page.getPageSize());
+        return PageableExecutionUtils.getPage(content, page, () -> ponudeCountCache.count(criteria, () -> count(criteria, specification)));
+    }
+
+    /**
+     * Return a {@link Slice} of some fields of the {@link Ponude} which match the criteria from the database, read as
+     * rows instead of entities, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param fields The fields to read.
+     * @param page The page, which should be returned.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Map<String, Object>> findProjectedSliceByCriteria(PonudeCriteria criteria, List<String> fields, Pageable page) {
+        log.debug("find projected slice by criteria : {}, fields: {}, page: {}", criteria, fields, page);
+        final Specification<Ponude> specification = createSpecification(criteria);
+        List<Map<String, Object>> rows = findProjected(criteria, specification, fields, page, page.getPageSize() + 1);
+        boolean hasNext = rows.size() > page.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, page.getPageSize()) : rows, page, hasNext);
+    }
+
+    /**
+     * Return a {@link Page} of some fields of the {@link Ponude} which match the criteria from the database, read as
+     * rows instead of entities.
+     * When the criteria has no filter, the total is the row estimate of the database planner instead of a count.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param fields The fields to read.
+     * @param page The page, which should be returned.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findProjectedByCriteriaWithEstimatedCount(
+        PonudeCriteria criteria,
+        List<String> fields,
+        Pageable page
+    ) {
+        log.debug("find projected by criteria with estimated count : {}, fields: {}, page: {}", criteria, fields, page);
+        OptionalLong estimate = isUnfiltered(criteria)
+            ? tableStatisticsRepository.estimateRowCount(PonudeRepository.TABLE_NAME)
+            : OptionalLong.empty();
+        if (estimate.isEmpty()) {
+            return findProjectedByCriteria(criteria, fields, page);
+        }
+        return new PageImpl<>(findProjectedSliceByCriteria(criteria, fields, page).getContent(), page, estimate.getAsLong());
+    }
+
+    /**
+     * Read all the {@link Ponude} which match the criteria from the database, one at a time through a forward-only
+     * cursor, so that memory use does not depend on the number of matching entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The order in which the entities are read.
+     * @param action The action run on each detached entity.
+     */
+    @Transactional(readOnly = true)
+    public void streamByCriteria(PonudeCriteria criteria, Sort sort, Consumer<Ponude> action) {
+        log.debug("stream by criteria : {}, sort: {}", criteria, sort);
+        final Specification<Ponude> specification = createSpecification(criteria);
+        try (Stream<Ponude> ponudes = ponudeRepository.streamAll(specification, sort, STREAM_FETCH_SIZE)) {
+            ponudes.forEach(action);
+        }
     }
 
     /**
@@ -67,7 +287,80 @@ public class PonudeQueryService extends QueryService<Ponude> {
     public long countByCriteria(PonudeCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<Ponude> specification = createSpecification(criteria);
-        return ponudeRepository.count(specification);
+        return ponudeCountCache.count(criteria, () -> count(criteria, specification));
+    }
+
+    private List<Ponude> findAll(
+        String operation,
+        PonudeCriteria criteria,
+        Specification<Ponude> specification,
+        Sort sort,
+        long offset,
+        int limit
+    ) {
+        return track(
+            operation,
+            criteria,
+            specification,
+            sort,
+            () ->
+                isCacheable(criteria)
+                    ? ponudeRepository.findAllCacheable(specification, sort, offset, limit)
+                    : ponudeRepository.findAll(specification, sort, offset, limit),
+            List::size
+        );
+    }
+
+    /**
+     * Whether the results of the criteria are kept in the query cache: only the shapes listed in
+     * {@code application.cache.ponude-query-shapes} are, as the others are seldom read twice with the same values.
+     */
+    private boolean isCacheable(PonudeCriteria criteria) {
+        return cacheableShapes.contains(createShape(criteria).toString());
+    }
+
+    private List<Map<String, Object>> findProjected(
+        PonudeCriteria criteria,
+        Specification<Ponude> specification,
+        List<String> fields,
+        Pageable page,
+        int limit
+    ) {
+        return track(
+            "projection",
+            criteria,
+            specification,
+            page.getSort(),
+            () -> projectionRepository.findAll(Ponude.class, specification, fields, page.getSort(), page.getOffset(), limit),
+            List::size
+        );
+    }
+
+    private long count(PonudeCriteria criteria, Specification<Ponude> specification) {
+        return track("count", criteria, specification, Sort.unsorted(), () -> ponudeRepository.count(specification), Long::longValue);
+    }
+
+    private <R> R track(
+        String operation,
+        PonudeCriteria criteria,
+        Specification<Ponude> specification,
+        Sort sort,
+        Supplier<R> query,
+        ToLongFunction<R> rows
+    ) {
+        return queryShapeMetersService.track(
+            ENTITY_NAME,
+            operation,
+            createShape(criteria).sort(sort).toString(),
+            query,
+            rows,
+            () -> queryPlanRepository.translate(Ponude.class, specification, sort).getSql(),
+            () -> {
+                // the values of the parameters are used to explain the query, but are not logged
+                SqlQuery sqlQuery = queryPlanRepository.translate(Ponude.class, specification, sort);
+                return () -> sqlQuery.getSql() + "\n" + queryPlanRepository.explain(sqlQuery);
+            }
+        );
     }
 
     /**
@@ -83,15 +376,186 @@ public class PonudeQueryService extends QueryService<Ponude> {
                 specification = specification.and(distinct(criteria.getDistinct()));
             }
             if (criteria.getId() != null) {
-                specification = specification.and(buildRangeSpecification(criteria.getId(), Ponude_.id));
+                specification = specification.and(buildRangeSpecification(padInLists(criteria.getId()), Ponude_.id));
             }
             if (criteria.getBroj() != null) {
-                specification = specification.and(buildRangeSpecification(criteria.getBroj(), Ponude_.broj));
+                specification = specification.and(buildRangeSpecification(padInLists(criteria.getBroj()), Ponude_.broj));
             }
             if (criteria.getIme() != null) {
-                specification = specification.and(buildStringSpecification(criteria.getIme(), Ponude_.ime));
+                specification = specification.and(buildStringSpecification(padInLists(criteria.getIme()), Ponude_.ime));
+                if (criteria.getIme().getSearch() != null) {
+                    specification =
+                        specification.and(new TextSearchSpecification<>(Ponude_.ime, Ponude_.id, criteria.getIme().getSearch()));
+                }
             }
         }
         return specification;
     }
+
+    /**
+     * Function to convert {@link PonudeCriteria} to its {@link CriteriaShape}, without the values of its filters.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the shape of the criteria.
+     */
+    protected CriteriaShape createShape(PonudeCriteria criteria) {
+        CriteriaShape shape = new CriteriaShape();
+        if (criteria != null) {
+            shape
+                .distinct(criteria.getDistinct())
+                .filter("id", criteria.getId())
+                .filter("broj", criteria.getBroj())
+                .filter("ime", criteria.getIme());
+        }
+        return shape;
+    }
+
+    /**
+     * Pad the {@code in} and {@code notIn} values of a filter to the next power of two, by repeating the last value, so
+     * that the queries of a same shape are rendered to a few SQL statements instead of one per number of values.
+     * @param filter The filter.
+     * @return the filter, or a padded copy of it.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T, F extends Filter<T>> F padInLists(F filter) {
+        if (filter.getIn() == null && filter.getNotIn() == null) {
+            return filter;
+        }
+        F padded = (F) filter.copy();
+        padded.setIn(padInList(filter.getIn()));
+        padded.setNotIn(padInList(filter.getNotIn()));
+        return padded;
+    }
+
+    private static <T> List<T> padInList(List<T> values) {
+        if (values == null || values.size() <= 1) {
+            return values;
+        }
+        int size = Integer.highestOneBit(values.size() - 1) << 1;
+        List<T> padded = new ArrayList<>(size);
+        padded.addAll(values);
+        while (padded.size() < size) {
+            padded.add(values.get(values.size() - 1));
+        }
+        return padded;
+    }
+
+    private boolean isUnfiltered(PonudeCriteria criteria) {
+        return criteria == null || (criteria.getId() == null && criteria.getBroj() == null && criteria.getIme() == null);
+    }
+
+    /**
+     * Function to convert a {@link KeysetCursor} to a {@link Specification} matching the rows with a sort key after it.
+     * @param cursor The position to seek past.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Ponude> createKeysetSpecification(KeysetCursor cursor) {
+        return createKeysetSpecification(cursor, isRowValueComparisonSupported());
+    }
+
+    /**
+     * Function to convert a {@link KeysetCursor} to a {@link Specification} matching the rows with a sort key after it.
+     * @param cursor The position to seek past.
+     * @param rowValues Whether to seek with the row value comparison {@code (key, id) > (:value, :id)}, which PostgreSQL
+     * answers with a single range scan of the {@code (key, id)} index, instead of {@code key > :value or (key = :value
+     * and id > :id)}.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Ponude> createKeysetSpecification(KeysetCursor cursor, boolean rowValues) {
+        String value = cursor.getValue();
+        try {
+            switch (cursor.getProperty()) {
+                case "id":
+                    if (!cursor.isStart() && value == null) {
+                        throw new InvalidCursorException("Malformed cursor");
+                    }
+                    return buildKeysetSpecification(Ponude_.id, value == null ? null : Long.valueOf(value), cursor, rowValues);
+                case "broj":
+                    return buildKeysetSpecification(Ponude_.broj, value == null ? null : Integer.valueOf(value), cursor, rowValues);
+                case "ime":
+                    return buildKeysetSpecification(Ponude_.ime, value, cursor, rowValues);
+                default:
+                    throw new InvalidCursorException("Keyset pagination is not supported on " + cursor.getProperty());
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    /**
+     * Function to convert a {@link KeysetCursor} to a {@link Specification} matching the rows without a sort key.
+     * @param cursor The position to seek past.
+     * @param lastId The id of the last row without a sort key already returned, or {@code null}.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Ponude> createNullKeySpecification(KeysetCursor cursor, Long lastId) {
+        return (root, query, builder) -> {
+            Path<?> key = root.get(cursor.getProperty());
+            if (lastId == null) {
+                return builder.isNull(key);
+            }
+            Path<Long> id = root.get(Ponude_.id);
+            return builder.and(
+                builder.isNull(key),
+                cursor.getDirection().isAscending() ? builder.greaterThan(id, lastId) : builder.lessThan(id, lastId)
+            );
+        };
+    }
+
+    private <X extends Comparable<? super X>> Specification<Ponude> buildKeysetSpecification(
+        SingularAttribute<Ponude, X> attribute,
+        X value,
+        KeysetCursor cursor,
+        boolean rowValues
+    ) {
+        return (root, query, builder) -> {
+            Path<X> key = root.get(attribute);
+            if (cursor.isStart()) {
+                return builder.isNotNull(key);
+            }
+            Path<Long> id = root.get(Ponude_.id);
+            boolean ascending = cursor.getDirection().isAscending();
+            if (rowValues) {
+                String comparison = ascending ? RowValueComparisonContributor.GREATER_THAN : RowValueComparisonContributor.LESS_THAN;
+                Expression<Boolean> after = builder.function(
+                    comparison,
+                    Boolean.class,
+                    key,
+                    id,
+                    builder.literal(value),
+                    builder.literal(cursor.getId())
+                );
+                return builder.and(builder.isNotNull(key), builder.isTrue(after));
+            }
+            return builder.and(
+                builder.isNotNull(key),
+                builder.or(
+                    ascending ? builder.greaterThan(key, value) : builder.lessThan(key, value),
+                    builder.and(
+                        builder.equal(key, value),
+                        ascending ? builder.greaterThan(id, cursor.getId()) : builder.lessThan(id, cursor.getId())
+                    )
+                )
+            );
+        };
+    }
+
+    private boolean isRowValueComparisonSupported() {
+        Boolean supported = rowValueComparisonSupported;
+        if (supported == null) {
+            supported = ponudeRepository.supportsRowValueComparison();
+            rowValueComparisonSupported = supported;
+        }
+        return supported;
+    }
+
+    private Object getKeysetValue(Ponude ponude, String property) {
+        switch (property) {
+            case "broj":
+                return ponude.getBroj();
+            case "ime":
+                return ponude.getIme();
+            default:
+                return ponude.getId();
+        }
+    }
 }
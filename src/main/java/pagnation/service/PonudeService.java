@@ -1,5 +1,7 @@
 package pagnation.service;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import pagnation.domain.Ponude;
 import pagnation.repository.PonudeRepository;
+import pagnation.service.dto.BatchResultDTO;
 
 /**
  * Service Implementation for managing {@link Ponude}.
@@ -21,8 +24,11 @@ public class PonudeService {
 
     private final PonudeRepository ponudeRepository;
 
-    public PonudeService(PonudeRepository ponudeRepository) {
+    private final BatchService batchService;
+
+    public PonudeService(PonudeRepository ponudeRepository, BatchService batchService) {
         this.ponudeRepository = ponudeRepository;
+        this.batchService = batchService;
     }
 
     /**
@@ -37,38 +43,80 @@ public class PonudeService {
     }
 
     /**
-     * Update a ponude.
+     * Update a ponude, in a single statement.
      *
      * @param ponude the entity to save.
-     * @return the persisted entity.
+     * @param expectedVersion the version the ponude must have, {@code null} to update any version.
+     * @return the updated entity, or empty if it doesn't exist.
+     * @throws VersionMismatchException if the ponude doesn't have the expected version.
      */
-    public Ponude update(Ponude ponude) {
+    public Optional<Ponude> update(Ponude ponude, Long expectedVersion) {
         log.debug("Request to save Ponude : {}", ponude);
-        return ponudeRepository.save(ponude);
+        if (ponudeRepository.updateById(ponude, expectedVersion) == 0) {
+            return notUpdated(ponude.getId(), expectedVersion);
+        }
+        return updated(ponude, expectedVersion, true);
     }
 
     /**
-     * Partially update a ponude.
+     * Partially update a ponude, in a single statement setting its non-null fields.
      *
      * @param ponude the entity to update partially.
-     * @return the persisted entity.
+     * @param expectedVersion the version the ponude must have, {@code null} to update any version.
+     * @return the updated entity, or empty if it doesn't exist.
+     * @throws VersionMismatchException if the ponude doesn't have the expected version.
      */
-    public Optional<Ponude> partialUpdate(Ponude ponude) {
+    public Optional<Ponude> partialUpdate(Ponude ponude, Long expectedVersion) {
         log.debug("Request to partially update Ponude : {}", ponude);
+        if (ponudeRepository.updateNonNullById(ponude, expectedVersion) == 0) {
+            return notUpdated(ponude.getId(), expectedVersion);
+        }
+        return updated(ponude, expectedVersion, ponude.getBroj() != null && ponude.getIme() != null);
+    }
 
-        return ponudeRepository
-            .findById(ponude.getId())
-            .map(existingPonude -> {
-                if (ponude.getBroj() != null) {
-                    existingPonude.setBroj(ponude.getBroj());
-                }
-                if (ponude.getIme() != null) {
-                    existingPonude.setIme(ponude.getIme());
-                }
-
-                return existingPonude;
-            })
-            .map(ponudeRepository::save);
+    private Optional<Ponude> notUpdated(Long id, Long expectedVersion) {
+        if (expectedVersion != null && ponudeRepository.existsById(id)) {
+            throw new VersionMismatchException();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The updated ponude, read again unless the update carried its whole state and its version.
+     */
+    private Optional<Ponude> updated(Ponude ponude, Long expectedVersion, boolean complete) {
+        if (complete && expectedVersion != null) {
+            return Optional.of(ponude.version(expectedVersion + 1));
+        }
+        return ponudeRepository.findById(ponude.getId());
+    }
+
+    /**
+     * Save a batch of ponudes: ponudes without id are created, the others are updated if they exist.
+     *
+     * @param ponudes the entities to save.
+     * @return the result of each ponude, in the order of the batch.
+     */
+    public List<BatchResultDTO> saveAll(Iterator<Ponude> ponudes) {
+        log.debug("Request to save a batch of Ponudes");
+        return batchService.saveAll(
+            Ponude.class.getSimpleName(),
+            ponudes,
+            ponudeRepository,
+            Ponude::getId,
+            (ponude, existingPonude) -> existingPonude.broj(ponude.getBroj()).ime(ponude.getIme())
+        );
+    }
+
+    /**
+     * Delete a batch of ponudes by id.
+     *
+     * @param ids the ids of the entities to delete.
+     * @return the result of each id, in the order of the batch.
+     */
+    public List<BatchResultDTO> deleteAll(Iterator<Long> ids) {
+        log.debug("Request to delete a batch of Ponudes");
+        return batchService.deleteAll(Ponude.class.getSimpleName(), ids, ponudeRepository, Ponude::getId);
     }
 
     /**
@@ -0,0 +1,162 @@
+package pagnation.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pagnation.config.ApplicationProperties;
+
+/**
+ * Coalescing of concurrent identical reads: while a call is in flight, the identical calls, with equal arguments, wait
+ * for it and share its result, or its exception, instead of running it again.
+ * <p>
+ * Only calls whose result does not depend on the caller should be coalesced: a caller may get the result of a call
+ * which started just before it. The change stamps of the read entities belong in the arguments, so that a read which
+ * starts after a write never gets the result of a read which started before it. The calls made in a transaction that
+ * may write are always executed, as they may read their own writes. The results are shared, so they must not be
+ * modified.
+ * <p>
+ * A call waits no longer than {@code application.single-flight.max-wait} for the identical call in flight, so that one
+ * hung query does not block all the calls of its arguments: it is then executed itself.
+ * <p>
+ * Each call is counted by the {@code single.flight.calls} meter, with a {@code result} of {@code executed} or
+ * {@code coalesced}, and the {@code single.flight.coalescing.ratio} gauge gives the share of coalesced calls. The
+ * coalesced calls which stopped waiting are also counted with a {@code result} of {@code timed-out}.
+ */
+@Service
+public class SingleFlight {
+
+    public static final String CALLS_METER_NAME = "single.flight.calls";
+    public static final String RATIO_METER_NAME = "single.flight.coalescing.ratio";
+
+    private static final String CALL_DIMENSION = "call";
+    private static final String RESULT_DIMENSION = "result";
+
+    private final Logger log = LoggerFactory.getLogger(SingleFlight.class);
+
+    private final MeterRegistry registry;
+
+    private final Duration maxWait;
+
+    private final Map<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, CallMeters> meters = new ConcurrentHashMap<>();
+
+    public SingleFlight(ApplicationProperties applicationProperties, MeterRegistry registry) {
+        this.registry = registry;
+        this.maxWait = applicationProperties.getSingleFlight().getMaxWait();
+    }
+
+    /**
+     * Run a call, or wait for the identical call in flight.
+     *
+     * @param call the name of the call, such as {@code ponudes.page}.
+     * @param read the call.
+     * @param arguments the arguments of the call, compared with {@code equals}.
+     * @param <T> the type of the result.
+     * @return the result of the call.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String call, Supplier<T> read, Object... arguments) {
+        CallMeters callMeters = meters.computeIfAbsent(call, CallMeters::new);
+        if (
+            TransactionSynchronizationManager.isActualTransactionActive() &&
+            !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        ) {
+            callMeters.executed.increment();
+            return read.get();
+        }
+        List<Object> key = new ArrayList<>(arguments.length + 1);
+        key.add(call);
+        key.addAll(Arrays.asList(arguments));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            callMeters.coalesced.increment();
+            log.debug("Coalesced call {} with arguments {}", call, key);
+            try {
+                return (T) await(leader);
+            } catch (TimeoutException e) {
+                callMeters.timedOut.increment();
+                log.warn("Call {} in flight for more than {}, executing it again", call, maxWait);
+                return read.get();
+            }
+        }
+        callMeters.executed.increment();
+        try {
+            T result = read.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight) throws TimeoutException {
+        try {
+            return flight.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the identical call in flight", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private final class CallMeters {
+
+        private final Counter executed;
+
+        private final Counter coalesced;
+
+        private final Counter timedOut;
+
+        private CallMeters(String call) {
+            this.executed = counter(call, "executed");
+            this.coalesced = counter(call, "coalesced");
+            this.timedOut = counter(call, "timed-out");
+            Gauge
+                .builder(RATIO_METER_NAME, this, CallMeters::ratio)
+                .tag(CALL_DIMENSION, call)
+                .description("The share of the calls which waited for an identical call in flight")
+                .register(registry);
+        }
+
+        private Counter counter(String call, String result) {
+            return Counter
+                .builder(CALLS_METER_NAME)
+                .tag(CALL_DIMENSION, call)
+                .tag(RESULT_DIMENSION, result)
+                .description("The coalescible calls, executed or coalesced with an identical call in flight")
+                .register(registry);
+        }
+
+        private double ratio() {
+            double total = executed.count() + coalesced.count();
+            return total > 0 ? coalesced.count() / total : Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package pagnation.service;
+
+import java.util.Locale;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.SingularAttribute;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@link Specification} of a case-insensitive search for a term contained in a text attribute.
+ * <p>
+ * The predicate is {@code lower(attribute) like '%term%'}, which PostgreSQL answers from the {@code gin_trgm_ops}
+ * trigram index on {@code lower(attribute)}. Unless the query is already ordered, or distinct, the matches are
+ * ranked by the position of the term, then shorter values first, so that an exact match comes first, then the values
+ * starting with the term, and by id within a rank.
+ *
+ * @param <T> the type of the entity.
+ */
+public class TextSearchSpecification<T> implements Specification<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final char ESCAPE = '\\';
+
+    private final SingularAttribute<? super T, String> attribute;
+
+    private final SingularAttribute<? super T, Long> id;
+
+    private final String term;
+
+    public TextSearchSpecification(SingularAttribute<? super T, String> attribute, SingularAttribute<? super T, Long> id, String term) {
+        this.attribute = attribute;
+        this.id = id;
+        this.term = term.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        Expression<String> value = builder.lower(root.get(attribute));
+        if (isRanked(query)) {
+            query.orderBy(
+                builder.asc(builder.locate(value, term)),
+                builder.asc(builder.length(root.get(attribute))),
+                builder.asc(root.get(id))
+            );
+        }
+        return builder.like(value, "%" + escape(term) + "%", ESCAPE);
+    }
+
+    private boolean isRanked(CriteriaQuery<?> query) {
+        // count queries select a number, and distinct queries may only be ordered by selected columns
+        return !Long.class.equals(query.getResultType()) && !query.isDistinct() && query.getOrderList().isEmpty();
+    }
+
+    private static String escape(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -9,6 +9,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -16,7 +18,9 @@ import org.springframework.transaction.annotation.Transactional;
 import pagnation.config.Constants;
 import pagnation.domain.Authority;
 import pagnation.domain.User;
+import pagnation.domain.User_;
 import pagnation.repository.AuthorityRepository;
+import pagnation.repository.ProjectionRepository;
 import pagnation.repository.UserRepository;
 import pagnation.security.AuthoritiesConstants;
 import pagnation.security.SecurityUtils;
@@ -41,16 +45,24 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final ProjectionRepository projectionRepository;
+
+    private final ClusterCacheInvalidator clusterCacheInvalidator;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        ProjectionRepository projectionRepository,
+        ClusterCacheInvalidator clusterCacheInvalidator
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.projectionRepository = projectionRepository;
+        this.clusterCacheInvalidator = clusterCacheInvalidator;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -282,11 +294,40 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllManagedUserFields(List<String> fields, Pageable pageable) {
+        List<Map<String, Object>> rows = projectionRepository.findAll(
+            User.class,
+            null,
+            fields,
+            pageable.getSort(),
+            pageable.getOffset(),
+            pageable.getPageSize()
+        );
+        return PageableExecutionUtils.getPage(rows, pageable, userRepository::count);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllPublicUserFields(List<String> fields, Pageable pageable) {
+        Specification<User> activated = (root, query, builder) -> builder.isTrue(root.get(User_.activated));
+        List<Map<String, Object>> rows = projectionRepository.findAll(
+            User.class,
+            activated,
+            fields,
+            pageable.getSort(),
+            pageable.getOffset(),
+            pageable.getPageSize()
+        );
+        return PageableExecutionUtils.getPage(rows, pageable, userRepository::countByIdNotNullAndActivatedIsTrue);
+    }
+
+    // on the primary, so that the usersByLogin cache can be filled, see UserRepository
+    @Transactional
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
         return userRepository.findOneWithAuthoritiesByLogin(login);
     }
 
-    @Transactional(readOnly = true)
+    // on the primary, so that the usersByLogin cache can be filled, see UserRepository
+    @Transactional
     public Optional<User> getUserWithAuthorities() {
         return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
     }
@@ -318,8 +359,10 @@ public class UserService {
 
     private void clearUserCaches(User user) {
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        clusterCacheInvalidator.evictOnOtherNodes(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
+            clusterCacheInvalidator.evictOnOtherNodes(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail());
         }
     }
 }
@@ -0,0 +1,10 @@
+package pagnation.service;
+
+public class VersionMismatchException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public VersionMismatchException() {
+        super("The entity was modified since the expected version");
+    }
+}
@@ -10,7 +10,6 @@ import tech.jhipster.service.filter.Filter;
 import tech.jhipster.service.filter.FloatFilter;
 import tech.jhipster.service.filter.IntegerFilter;
 import tech.jhipster.service.filter.LongFilter;
-import tech.jhipster.service.filter.StringFilter;
 
 /**
  * Criteria class for the {@link pagnation.domain.Ponude} entity. This class is used
@@ -18,6 +17,7 @@ import tech.jhipster.service.filter.StringFilter;
  * the Http GET request parameters.
  * For example the following could be a valid request:
  * {@code /ponudes?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * The {@code ime} filter also accepts a ranked {@code ime.search}, see {@link SearchStringFilter}.
  * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
  * fix type specific filters.
  */
@@ -30,7 +30,7 @@ public class PonudeCriteria implements Serializable, Criteria {
 
     private IntegerFilter broj;
 
-    private StringFilter ime;
+    private SearchStringFilter ime;
 
     private Boolean distinct;
 
@@ -78,18 +78,18 @@ public class PonudeCriteria implements Serializable, Criteria {
         this.broj = broj;
     }
 
-    public StringFilter getIme() {
+    public SearchStringFilter getIme() {
         return ime;
     }
 
-    public StringFilter ime() {
+    public SearchStringFilter ime() {
         if (ime == null) {
-            ime = new StringFilter();
+            ime = new SearchStringFilter();
         }
         return ime;
     }
 
-    public void setIme(StringFilter ime) {
+    public void setIme(SearchStringFilter ime) {
         this.ime = ime;
     }
 
@@ -0,0 +1,69 @@
+package pagnation.service.criteria;
+
+import java.util.Objects;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * {@link StringFilter} with a case-insensitive {@code search}, which matches the values containing a term and orders
+ * the matches by relevance unless the request has an explicit sort.
+ * <p>
+ * For example {@code /ponudes?ime.search=beton}.
+ *
+ * @see pagnation.service.TextSearchSpecification
+ */
+public class SearchStringFilter extends StringFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    private String search;
+
+    public SearchStringFilter() {}
+
+    public SearchStringFilter(SearchStringFilter filter) {
+        super(filter);
+        this.search = filter.search;
+    }
+
+    @Override
+    public SearchStringFilter copy() {
+        return new SearchStringFilter(this);
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public SearchStringFilter setSearch(String search) {
+        this.search = search;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        final SearchStringFilter that = (SearchStringFilter) o;
+        return Objects.equals(search, that.search);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), search);
+    }
+
+    @Override
+    public String toString() {
+        String filter = super.toString();
+        if (search == null) {
+            return filter;
+        }
+        return filter.substring(0, filter.length() - 1) + "search=" + search + "]";
+    }
+}
@@ -0,0 +1,51 @@
+package pagnation.service.dto;
+
+/**
+ * A DTO representing the result of one item of a batch write.
+ */
+public class BatchResultDTO {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+    }
+
+    private final int index;
+
+    private final Long id;
+
+    private final Status status;
+
+    public BatchResultDTO(int index, Long id, Status status) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+    }
+
+    /**
+     * @return the position of the item in the batch, from 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchResultDTO{" +
+            "index=" + index +
+            ", id=" + id +
+            ", status=" + status +
+            "}";
+    }
+}
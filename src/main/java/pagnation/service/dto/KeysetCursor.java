@@ -0,0 +1,134 @@
+package pagnation.service.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
+import org.springframework.data.domain.Sort;
+import pagnation.service.InvalidCursorException;
+
+/**
+ * A position in a keyset (seek) pagination: the sort key and id of the last row of the previous slice.
+ * <p>
+ * Clients only see the opaque {@link #encode() encoded} form, which also carries the sort, so that
+ * following pages are always read in the order of the first one.
+ */
+public final class KeysetCursor {
+
+    private static final String ID_PROPERTY = "id";
+
+    private static final String SEPARATOR = ",";
+
+    private final String property;
+
+    private final Sort.Direction direction;
+
+    private final Long id;
+
+    private final String value;
+
+    private KeysetCursor(String property, Sort.Direction direction, Long id, String value) {
+        this.property = property;
+        this.direction = direction;
+        this.id = id;
+        this.value = value;
+    }
+
+    /**
+     * Create the cursor of the first slice for a sort, which may only add {@code id} after its first property.
+     *
+     * @param sort the requested sort.
+     * @return the cursor positioned before the first row.
+     */
+    public static KeysetCursor first(Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return new KeysetCursor(ID_PROPERTY, Sort.Direction.ASC, null, null);
+        }
+        Iterator<Sort.Order> orders = sort.iterator();
+        Sort.Order order = orders.next();
+        while (orders.hasNext()) {
+            if (!ID_PROPERTY.equals(orders.next().getProperty())) {
+                throw new InvalidCursorException("Keyset pagination supports a single sort property");
+            }
+        }
+        return new KeysetCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    /**
+     * Decode a cursor previously returned by {@link #encode()}.
+     *
+     * @param encoded the opaque cursor.
+     * @return the decoded cursor.
+     */
+    public static KeysetCursor decode(String encoded) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (parts.length < 3) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        try {
+            return new KeysetCursor(
+                parts[0],
+                Sort.Direction.valueOf(parts[1]),
+                Long.valueOf(parts[2]),
+                parts.length == 4 ? parts[3] : null
+            );
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    /**
+     * Create the cursor following a row.
+     *
+     * @param id the id of the last row.
+     * @param value the sort key of the last row, {@code null} if the row has none.
+     * @return the cursor positioned after that row.
+     */
+    public KeysetCursor next(Long id, Object value) {
+        return new KeysetCursor(property, direction, id, value == null ? null : value.toString());
+    }
+
+    public String encode() {
+        String raw = property + SEPARATOR + direction.name() + SEPARATOR + id + (value != null ? SEPARATOR + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isStart() {
+        return id == null;
+    }
+
+    public boolean isIdOrdered() {
+        return ID_PROPERTY.equals(property);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KeysetCursor{" +
+            "property='" + property + '\'' +
+            ", direction=" + direction +
+            ", id=" + id +
+            ", value='" + value + '\'' +
+            "}";
+    }
+}
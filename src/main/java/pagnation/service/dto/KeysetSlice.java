@@ -0,0 +1,30 @@
+package pagnation.service.dto;
+
+import java.util.List;
+
+/**
+ * A slice of a keyset (seek) pagination, with the cursor of the following slice if there is one.
+ */
+public class KeysetSlice<T> {
+
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    public KeysetSlice(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
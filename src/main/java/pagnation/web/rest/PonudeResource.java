@@ -1,25 +1,59 @@
 package pagnation.web.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 import pagnation.domain.Ponude;
-import pagnation.repository.PonudeRepository;
+import pagnation.service.EntityChangeStamps;
 import pagnation.service.PonudeQueryService;
 import pagnation.service.PonudeService;
+import pagnation.service.SingleFlight;
 import pagnation.service.criteria.PonudeCriteria;
+import pagnation.service.dto.BatchResultDTO;
+import pagnation.service.dto.KeysetSlice;
 import pagnation.web.rest.errors.BadRequestAlertException;
+import pagnation.web.rest.util.BatchRequestUtil;
+import pagnation.web.rest.util.CountMode;
+import pagnation.web.rest.util.ETagUtil;
+import pagnation.web.rest.util.ExportFormat;
+import pagnation.web.rest.util.FieldRows;
+import pagnation.web.rest.util.FieldsUtil;
+import pagnation.web.rest.util.ListETagUtil;
+import pagnation.web.rest.util.ListResponseCache;
+import pagnation.web.rest.util.SlicePaginationUtil;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -35,19 +69,45 @@ public class PonudeResource {
 
     private static final String ENTITY_NAME = "ponude";
 
+    private static final Set<String> PROJECTED_FIELDS = Set.of("id", "broj", "ime", "version");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final PonudeService ponudeService;
 
-    private final PonudeRepository ponudeRepository;
-
     private final PonudeQueryService ponudeQueryService;
 
-    public PonudeResource(PonudeService ponudeService, PonudeRepository ponudeRepository, PonudeQueryService ponudeQueryService) {
+    private final ObjectMapper objectMapper;
+
+    private final EntityChangeStamps entityChangeStamps;
+
+    private final ObjectMapper smileObjectMapper;
+
+    private final ObjectMapper cborObjectMapper;
+
+    private final SingleFlight singleFlight;
+
+    private final ListResponseCache listResponseCache;
+
+    public PonudeResource(
+        PonudeService ponudeService,
+        PonudeQueryService ponudeQueryService,
+        ObjectMapper objectMapper,
+        EntityChangeStamps entityChangeStamps,
+        MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter,
+        MappingJackson2CborHttpMessageConverter cborHttpMessageConverter,
+        SingleFlight singleFlight,
+        ListResponseCache listResponseCache
+    ) {
         this.ponudeService = ponudeService;
-        this.ponudeRepository = ponudeRepository;
         this.ponudeQueryService = ponudeQueryService;
+        this.objectMapper = objectMapper;
+        this.entityChangeStamps = entityChangeStamps;
+        this.smileObjectMapper = smileHttpMessageConverter.getObjectMapper();
+        this.cborObjectMapper = cborHttpMessageConverter.getObjectMapper();
+        this.singleFlight = singleFlight;
+        this.listResponseCache = listResponseCache;
     }
 
     /**
@@ -67,22 +127,68 @@ public class PonudeResource {
         return ResponseEntity
             .created(new URI("/api/ponudes/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ETagUtil.fromVersion(result.getVersion()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /ponudes/batch} : Create or update a batch of ponudes.
+     * <p>
+     * The body is either a JSON array or newline delimited JSON ponudes, read and written chunk by chunk.
+     * Ponudes without id are created, the others are updated if they exist.
+     *
+     * @param request the request, with the ponudes in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each ponude,
+     * or with status {@code 400 (Bad Request)} if the batch is not valid.
+     * @throws IOException if the batch couldn't be read.
+     */
+    @PostMapping(value = "/ponudes/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, BatchRequestUtil.NDJSON_VALUE })
+    public ResponseEntity<List<BatchResultDTO>> savePonudesInBatch(HttpServletRequest request) throws IOException {
+        log.debug("REST request to save a batch of Ponudes");
+        List<BatchResultDTO> result = ponudeService.saveAll(
+            BatchRequestUtil.readItems(objectMapper, Ponude.class, request.getInputStream(), ENTITY_NAME)
+        );
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * {@code POST  /ponudes/batch/delete} : Delete a batch of ponudes.
+     * <p>
+     * The body is either a JSON array or newline delimited JSON ids, read and deleted chunk by chunk.
+     *
+     * @param request the request, with the ids of the ponudes in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id,
+     * or with status {@code 400 (Bad Request)} if the batch is not valid.
+     * @throws IOException if the batch couldn't be read.
+     */
+    @PostMapping(value = "/ponudes/batch/delete", consumes = { MediaType.APPLICATION_JSON_VALUE, BatchRequestUtil.NDJSON_VALUE })
+    public ResponseEntity<List<BatchResultDTO>> deletePonudesInBatch(HttpServletRequest request) throws IOException {
+        log.debug("REST request to delete a batch of Ponudes");
+        List<BatchResultDTO> result = ponudeService.deleteAll(
+            BatchRequestUtil.readItems(objectMapper, Long.class, request.getInputStream(), ENTITY_NAME)
+        );
+        return ResponseEntity.ok().body(result);
+    }
+
     /**
      * {@code PUT  /ponudes/:id} : Updates an existing ponude.
      *
      * @param id the id of the ponude to save.
      * @param ponude the ponude to update.
+     * @param ifMatch the {@code ETag} the ponude must still have to be updated, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated ponude,
      * or with status {@code 400 (Bad Request)} if the ponude is not valid,
+     * or with status {@code 404 (Not Found)} if the ponude is not found,
+     * or with status {@code 412 (Precondition Failed)} if the ponude doesn't match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the ponude couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/ponudes/{id}")
-    public ResponseEntity<Ponude> updatePonude(@PathVariable(value = "id", required = false) final Long id, @RequestBody Ponude ponude)
-        throws URISyntaxException {
+    public ResponseEntity<Ponude> updatePonude(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestBody Ponude ponude,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) throws URISyntaxException {
         log.debug("REST request to update Ponude : {}, {}", id, ponude);
         if (ponude.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -91,15 +197,8 @@ public class PonudeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!ponudeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Ponude result = ponudeService.update(ponude);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, ponude.getId().toString()))
-            .body(result);
+        Optional<Ponude> result = ponudeService.update(ponude, ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME));
+        return ResponseUtil.wrapOrNotFound(result, createUpdateHeaders(result));
     }
 
     /**
@@ -107,16 +206,19 @@ public class PonudeResource {
      *
      * @param id the id of the ponude to save.
      * @param ponude the ponude to update.
+     * @param ifMatch the {@code ETag} the ponude must still have to be updated, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated ponude,
      * or with status {@code 400 (Bad Request)} if the ponude is not valid,
      * or with status {@code 404 (Not Found)} if the ponude is not found,
+     * or with status {@code 412 (Precondition Failed)} if the ponude doesn't match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the ponude couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/ponudes/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Ponude> partialUpdatePonude(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody Ponude ponude
+        @RequestBody Ponude ponude,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update Ponude partially : {}, {}", id, ponude);
         if (ponude.getId() == null) {
@@ -126,36 +228,157 @@ public class PonudeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!ponudeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<Ponude> result = ponudeService.partialUpdate(ponude, ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME));
 
-        Optional<Ponude> result = ponudeService.partialUpdate(ponude);
+        return ResponseUtil.wrapOrNotFound(result, createUpdateHeaders(result));
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, ponude.getId().toString())
-        );
+    private HttpHeaders createUpdateHeaders(Optional<Ponude> result) {
+        HttpHeaders headers = new HttpHeaders();
+        result.ifPresent(ponude -> {
+            headers.addAll(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, ponude.getId().toString()));
+            headers.addAll(ETagUtil.createETagHeaders(ponude.getVersion()));
+        });
+        return headers;
     }
 
     /**
      * {@code GET  /ponudes} : get all the ponudes.
+     * <p>
+     * When {@code after} is present (empty for the first slice), the ponudes are read with keyset pagination:
+     * the cursor of the next slice is returned in the {@code X-Next-Cursor} header and the {@code next} link.
+     * <p>
+     * The response carries a weak {@code ETag}, which changes with the request parameters and with any ponude
+     * change: when it matches {@code If-None-Match}, the response is a {@code 304 (Not Modified)}, without querying
+     * the ponudes. The JSON responses are kept in the {@link ListResponseCache} until a ponude changes.
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of ponudes in body.
+     * @param after the cursor returned with the previous slice, to use keyset instead of offset pagination.
+     * @param count how the total is computed, {@code exact} by default, {@code none} or {@code estimate}.
+     * @param webRequest the request, to check its {@code If-None-Match}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of ponudes in body, when the response
+     * is not cached, as it is not JSON or was read from a read replica, or else {@code null}: the response has then
+     * been written from the cache, or has the status {@code 304 (Not Modified)}.
      */
     @GetMapping("/ponudes")
     public ResponseEntity<List<Ponude>> getAllPonudes(
         PonudeCriteria criteria,
-        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = SlicePaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(value = CountMode.PARAMETER, required = false) String count,
+        ServletWebRequest webRequest
     ) {
         log.debug("REST request to get Ponudes by criteria: {}", criteria);
-        Page<Ponude> page = ponudeQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        String eTag = ListETagUtil.createETag(webRequest, entityChangeStamps.getStamp(Ponude.class));
+        if (ListETagUtil.checkNotModified(webRequest, eTag)) {
+            return null;
+        }
+        return listResponseCache.serve(
+            webRequest,
+            Ponude.class,
+            uriBuilder -> ListETagUtil.withETag(eTag, () -> findAllPonudes(criteria, pageable, after, count, uriBuilder))
+        );
+    }
+
+    private ResponseEntity<List<Ponude>> findAllPonudes(
+        PonudeCriteria criteria,
+        Pageable pageable,
+        String after,
+        String count,
+        UriComponentsBuilder uriBuilder
+    ) {
+        if (after != null) {
+            KeysetSlice<Ponude> slice = singleFlight.execute(
+                "ponudes.keyset",
+                () -> ponudeQueryService.findByCriteria(criteria, after, pageable),
+                criteria,
+                after,
+                pageable,
+                entityChangeStamps.getStamp(Ponude.class)
+            );
+            HttpHeaders headers = SlicePaginationUtil.generateCursorPaginationHttpHeaders(uriBuilder, slice.getNextCursor());
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        CountMode countMode = CountMode.fromParameter(count);
+        if (countMode == CountMode.NONE) {
+            Slice<Ponude> slice = ponudeQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(uriBuilder, slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        Page<Ponude> page = countMode == CountMode.ESTIMATE
+            ? ponudeQueryService.findByCriteriaWithEstimatedCount(criteria, pageable)
+            : singleFlight.execute(
+                "ponudes.page",
+                () -> ponudeQueryService.findByCriteria(criteria, pageable),
+                criteria,
+                pageable,
+                entityChangeStamps.getStamp(Ponude.class)
+            );
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /ponudes?fields=id,ime} : get some fields of all the ponudes.
+     * <p>
+     * The fields are read as rows instead of entities, and returned as objects with only these fields. Keyset
+     * pagination is not available with {@code fields}.
+     * With {@code Accept: application/vnd.pagnation.columnar}, they are returned in the columnar shape of
+     * {@link pagnation.web.rest.util.ColumnarJsonHttpMessageConverter} instead.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the comma separated fields to return, among {@code id}, {@code broj}, {@code ime} and {@code version}.
+     * @param after must be absent.
+     * @param count how the total is computed, {@code exact} by default, {@code none} or {@code estimate}.
+     * @param webRequest the request, to check its {@code If-None-Match}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of ponude fields in body,
+     * or {@code null} with status {@code 304 (Not Modified)}, or with status {@code 400 (Bad Request)} if a field is unknown.
+     */
+    @GetMapping(value = "/ponudes", params = FieldsUtil.FIELDS_PARAMETER)
+    public ResponseEntity<List<Map<String, Object>>> getAllPonudesFields(
+        PonudeCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(FieldsUtil.FIELDS_PARAMETER) String fields,
+        @RequestParam(value = SlicePaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(value = CountMode.PARAMETER, required = false) String count,
+        ServletWebRequest webRequest
+    ) {
+        log.debug("REST request to get fields {} of Ponudes by criteria: {}", fields, criteria);
+        List<String> selectedFields = FieldsUtil.parseFields(fields, PROJECTED_FIELDS, ENTITY_NAME);
+        if (after != null) {
+            throw new BadRequestAlertException("Keyset pagination is not available with fields", ENTITY_NAME, "fieldsinvalid");
+        }
+        String eTag = ListETagUtil.createETag(webRequest, entityChangeStamps.getStamp(Ponude.class));
+        if (ListETagUtil.checkNotModified(webRequest, eTag)) {
+            return null;
+        }
+        return ListETagUtil.withETag(eTag, () -> findAllPonudesFields(criteria, pageable, selectedFields, count));
+    }
+
+    private ResponseEntity<List<Map<String, Object>>> findAllPonudesFields(
+        PonudeCriteria criteria,
+        Pageable pageable,
+        List<String> selectedFields,
+        String count
+    ) {
+        CountMode countMode = CountMode.fromParameter(count);
+        if (countMode == CountMode.NONE) {
+            Slice<Map<String, Object>> slice = ponudeQueryService.findProjectedSliceByCriteria(criteria, selectedFields, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice
+            );
+            return ResponseEntity.ok().headers(headers).body(FieldRows.of(selectedFields, slice.getContent()));
+        }
+        Page<Map<String, Object>> page = countMode == CountMode.ESTIMATE
+            ? ponudeQueryService.findProjectedByCriteriaWithEstimatedCount(criteria, selectedFields, pageable)
+            : ponudeQueryService.findProjectedByCriteria(criteria, selectedFields, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(FieldRows.of(selectedFields, page.getContent()));
+    }
+
     /**
      * {@code GET  /ponudes/count} : count all the ponudes.
      *
@@ -165,11 +388,131 @@ public class PonudeResource {
     @GetMapping("/ponudes/count")
     public ResponseEntity<Long> countPonudes(PonudeCriteria criteria) {
         log.debug("REST request to count Ponudes by criteria: {}", criteria);
-        return ResponseEntity.ok().body(ponudeQueryService.countByCriteria(criteria));
+        long count = singleFlight.execute(
+            "ponudes.count",
+            () -> ponudeQueryService.countByCriteria(criteria),
+            criteria,
+            entityChangeStamps.getStamp(Ponude.class)
+        );
+        return ResponseEntity.ok().body(count);
+    }
+
+    /**
+     * {@code GET  /ponudes/export} : export all the ponudes matching the criteria.
+     * <p>
+     * The ponudes are written to the response as they are read from the database, so that the export
+     * runs in constant memory whatever the number of ponudes.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param format the format of the export, {@code ndjson} by default, {@code csv}, or the binary {@code smile} or
+     * {@code cbor}, which encode the same objects as {@code ndjson}.
+     * @param sort the order of the exported entities, by id by default.
+     * @param response the response the export is written to.
+     * @throws IOException if the export couldn't be written.
+     */
+    @GetMapping("/ponudes/export")
+    public void exportPonudes(
+        PonudeCriteria criteria,
+        @RequestParam(value = ExportFormat.PARAMETER, required = false) String format,
+        @SortDefault(sort = "id") Sort sort,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export Ponudes by criteria: {}", criteria);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ponudes." + exportFormat.getExtension() + "\"");
+        try {
+            if (exportFormat == ExportFormat.CSV) {
+                exportCsv(criteria, sort, response);
+            } else if (exportFormat == ExportFormat.SMILE) {
+                exportValues(smileObjectMapper, criteria, sort, response);
+            } else if (exportFormat == ExportFormat.CBOR) {
+                exportValues(cborObjectMapper, criteria, sort, response);
+            } else {
+                exportNdjson(criteria, sort, response);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void exportNdjson(PonudeCriteria criteria, Sort sort, HttpServletResponse response) throws IOException {
+        ObjectWriter writer = objectMapper
+            .writerFor(Ponude.class)
+            .without(SerializationFeature.INDENT_OUTPUT)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        // each line is terminated, the last one included, and an empty export has no line at all
+        generator.setRootValueSeparator(null);
+        ponudeQueryService.streamByCriteria(
+            criteria,
+            sort,
+            ponude -> {
+                try {
+                    writer.writeValue(generator, ponude);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        );
+        generator.flush();
+    }
+
+    private void exportValues(ObjectMapper mapper, PonudeCriteria criteria, Sort sort, HttpServletResponse response) throws IOException {
+        ObjectWriter writer = mapper.writerFor(Ponude.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = mapper.getFactory().createGenerator(response.getOutputStream());
+        ponudeQueryService.streamByCriteria(
+            criteria,
+            sort,
+            ponude -> {
+                try {
+                    writer.writeValue(generator, ponude);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        );
+        generator.flush();
+    }
+
+    private void exportCsv(PonudeCriteria criteria, Sort sort, HttpServletResponse response) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        writer.write("id,broj,ime\r\n");
+        ponudeQueryService.streamByCriteria(
+            criteria,
+            sort,
+            ponude -> {
+                try {
+                    writer.write(String.valueOf(ponude.getId()));
+                    writer.write(',');
+                    writer.write(ponude.getBroj() != null ? ponude.getBroj().toString() : "");
+                    writer.write(',');
+                    writer.write(escapeCsv(ponude.getIme()));
+                    writer.write("\r\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        );
+        writer.flush();
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
     }
 
     /**
      * {@code GET  /ponudes/:id} : get the "id" ponude.
+     * <p>
+     * The response carries the version of the ponude as strong {@code ETag}: when it matches {@code If-None-Match},
+     * the response is a {@code 304 (Not Modified)} without body.
      *
      * @param id the id of the ponude to retrieve.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ponude, or with status {@code 404 (Not Found)}.
@@ -178,7 +521,7 @@ public class PonudeResource {
     public ResponseEntity<Ponude> getPonude(@PathVariable Long id) {
         log.debug("REST request to get Ponude : {}", id);
         Optional<Ponude> ponude = ponudeService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(ponude);
+        return ResponseUtil.wrapOrNotFound(ponude, ETagUtil.createETagHeaders(ponude.map(Ponude::getVersion).orElse(null)));
     }
 
     /**
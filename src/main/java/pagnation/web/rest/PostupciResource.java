@@ -1,24 +1,56 @@
 package pagnation.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 import pagnation.domain.Postupci;
+import pagnation.domain.Postupci_;
 import pagnation.repository.PostupciRepository;
+import pagnation.repository.ProjectionRepository;
+import pagnation.repository.TableStatisticsRepository;
+import pagnation.service.BatchService;
+import pagnation.service.EntityChangeStamps;
+import pagnation.service.SingleFlight;
+import pagnation.service.TextSearchSpecification;
+import pagnation.service.VersionMismatchException;
+import pagnation.service.dto.BatchResultDTO;
 import pagnation.web.rest.errors.BadRequestAlertException;
+import pagnation.web.rest.util.BatchRequestUtil;
+import pagnation.web.rest.util.CountMode;
+import pagnation.web.rest.util.ETagUtil;
+import pagnation.web.rest.util.FieldRows;
+import pagnation.web.rest.util.FieldsUtil;
+import pagnation.web.rest.util.ListETagUtil;
+import pagnation.web.rest.util.ListResponseCache;
+import pagnation.web.rest.util.SlicePaginationUtil;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -35,13 +67,45 @@ public class PostupciResource {
 
     private static final String ENTITY_NAME = "postupci";
 
+    private static final Set<String> PROJECTED_FIELDS = Set.of("id", "broj", "ime", "version");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final PostupciRepository postupciRepository;
 
-    public PostupciResource(PostupciRepository postupciRepository) {
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    private final BatchService batchService;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityChangeStamps entityChangeStamps;
+
+    private final ProjectionRepository projectionRepository;
+
+    private final SingleFlight singleFlight;
+
+    private final ListResponseCache listResponseCache;
+
+    public PostupciResource(
+        PostupciRepository postupciRepository,
+        TableStatisticsRepository tableStatisticsRepository,
+        BatchService batchService,
+        ObjectMapper objectMapper,
+        EntityChangeStamps entityChangeStamps,
+        ProjectionRepository projectionRepository,
+        SingleFlight singleFlight,
+        ListResponseCache listResponseCache
+    ) {
         this.postupciRepository = postupciRepository;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.batchService = batchService;
+        this.objectMapper = objectMapper;
+        this.entityChangeStamps = entityChangeStamps;
+        this.projectionRepository = projectionRepository;
+        this.singleFlight = singleFlight;
+        this.listResponseCache = listResponseCache;
     }
 
     /**
@@ -61,23 +125,74 @@ public class PostupciResource {
         return ResponseEntity
             .created(new URI("/api/postupcis/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .eTag(ETagUtil.fromVersion(result.getVersion()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /postupcis/batch} : Create or update a batch of postupcis.
+     * <p>
+     * The body is either a JSON array or newline delimited JSON postupcis, read and written chunk by chunk.
+     * Postupcis without id are created, the others are updated if they exist.
+     *
+     * @param request the request, with the postupcis in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each postupci,
+     * or with status {@code 400 (Bad Request)} if the batch is not valid.
+     * @throws IOException if the batch couldn't be read.
+     */
+    @PostMapping(value = "/postupcis/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, BatchRequestUtil.NDJSON_VALUE })
+    public ResponseEntity<List<BatchResultDTO>> savePostupcisInBatch(HttpServletRequest request) throws IOException {
+        log.debug("REST request to save a batch of Postupcis");
+        List<BatchResultDTO> result = batchService.saveAll(
+            Postupci.class.getSimpleName(),
+            BatchRequestUtil.readItems(objectMapper, Postupci.class, request.getInputStream(), ENTITY_NAME),
+            postupciRepository,
+            Postupci::getId,
+            (postupci, existingPostupci) -> existingPostupci.broj(postupci.getBroj()).ime(postupci.getIme())
+        );
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * {@code POST  /postupcis/batch/delete} : Delete a batch of postupcis.
+     * <p>
+     * The body is either a JSON array or newline delimited JSON ids, read and deleted chunk by chunk.
+     *
+     * @param request the request, with the ids of the postupcis in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id,
+     * or with status {@code 400 (Bad Request)} if the batch is not valid.
+     * @throws IOException if the batch couldn't be read.
+     */
+    @PostMapping(value = "/postupcis/batch/delete", consumes = { MediaType.APPLICATION_JSON_VALUE, BatchRequestUtil.NDJSON_VALUE })
+    public ResponseEntity<List<BatchResultDTO>> deletePostupcisInBatch(HttpServletRequest request) throws IOException {
+        log.debug("REST request to delete a batch of Postupcis");
+        List<BatchResultDTO> result = batchService.deleteAll(
+            Postupci.class.getSimpleName(),
+            BatchRequestUtil.readItems(objectMapper, Long.class, request.getInputStream(), ENTITY_NAME),
+            postupciRepository,
+            Postupci::getId
+        );
+        return ResponseEntity.ok().body(result);
+    }
+
     /**
      * {@code PUT  /postupcis/:id} : Updates an existing postupci.
      *
      * @param id the id of the postupci to save.
      * @param postupci the postupci to update.
+     * @param ifMatch the {@code ETag} the postupci must still have to be updated, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated postupci,
      * or with status {@code 400 (Bad Request)} if the postupci is not valid,
+     * or with status {@code 404 (Not Found)} if the postupci is not found,
+     * or with status {@code 412 (Precondition Failed)} if the postupci doesn't match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the postupci couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/postupcis/{id}")
     public ResponseEntity<Postupci> updatePostupci(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody Postupci postupci
+        @RequestBody Postupci postupci,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update Postupci : {}, {}", id, postupci);
         if (postupci.getId() == null) {
@@ -87,15 +202,11 @@ public class PostupciResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!postupciRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Postupci result = postupciRepository.save(postupci);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, postupci.getId().toString()))
-            .body(result);
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+        Optional<Postupci> result = postupciRepository.updateById(postupci, expectedVersion) == 0
+            ? notUpdated(postupci.getId(), expectedVersion)
+            : updated(postupci, expectedVersion, true);
+        return ResponseUtil.wrapOrNotFound(result, createUpdateHeaders(result));
     }
 
     /**
@@ -103,16 +214,19 @@ public class PostupciResource {
      *
      * @param id the id of the postupci to save.
      * @param postupci the postupci to update.
+     * @param ifMatch the {@code ETag} the postupci must still have to be updated, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated postupci,
      * or with status {@code 400 (Bad Request)} if the postupci is not valid,
      * or with status {@code 404 (Not Found)} if the postupci is not found,
+     * or with status {@code 412 (Precondition Failed)} if the postupci doesn't match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the postupci couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/postupcis/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Postupci> partialUpdatePostupci(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody Postupci postupci
+        @RequestBody Postupci postupci,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update Postupci partially : {}, {}", id, postupci);
         if (postupci.getId() == null) {
@@ -122,46 +236,191 @@ public class PostupciResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!postupciRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+        Optional<Postupci> result = postupciRepository.updateNonNullById(postupci, expectedVersion) == 0
+            ? notUpdated(postupci.getId(), expectedVersion)
+            : updated(postupci, expectedVersion, postupci.getBroj() != null && postupci.getIme() != null);
+
+        return ResponseUtil.wrapOrNotFound(result, createUpdateHeaders(result));
+    }
+
+    private Optional<Postupci> notUpdated(Long id, Long expectedVersion) {
+        if (expectedVersion != null && postupciRepository.existsById(id)) {
+            throw new VersionMismatchException();
         }
+        return Optional.empty();
+    }
 
-        Optional<Postupci> result = postupciRepository
-            .findById(postupci.getId())
-            .map(existingPostupci -> {
-                if (postupci.getBroj() != null) {
-                    existingPostupci.setBroj(postupci.getBroj());
-                }
-                if (postupci.getIme() != null) {
-                    existingPostupci.setIme(postupci.getIme());
-                }
-
-                return existingPostupci;
-            })
-            .map(postupciRepository::save);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, postupci.getId().toString())
-        );
+    /**
+     * The updated postupci, read again unless the update carried its whole state and its version.
+     */
+    private Optional<Postupci> updated(Postupci postupci, Long expectedVersion, boolean complete) {
+        if (complete && expectedVersion != null) {
+            return Optional.of(postupci.version(expectedVersion + 1));
+        }
+        return postupciRepository.findById(postupci.getId());
+    }
+
+    private HttpHeaders createUpdateHeaders(Optional<Postupci> result) {
+        HttpHeaders headers = new HttpHeaders();
+        result.ifPresent(postupci -> {
+            headers.addAll(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, postupci.getId().toString()));
+            headers.addAll(ETagUtil.createETagHeaders(postupci.getVersion()));
+        });
+        return headers;
     }
 
     /**
      * {@code GET  /postupcis} : get all the postupcis.
+     * <p>
+     * The response carries a weak {@code ETag}, which changes with the request parameters and with any postupci
+     * change: when it matches {@code If-None-Match}, the response is a {@code 304 (Not Modified)}, without querying
+     * the postupcis. The JSON responses are kept in the {@link ListResponseCache} until a postupci changes.
+     * <p>
+     * The controller does not start a transaction: the postupcis are read in the read-only transactions of the
+     * repository, so that identical concurrent reads can be coalesced.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of postupcis in body.
+     * @param count how the total is computed, {@code exact} by default, {@code none} or {@code estimate}.
+     * @param imeSearch a term the ime of the postupcis must contain, ignoring case. The matches are ranked unless
+     * {@code pageable} has a sort, and always counted exactly.
+     * @param webRequest the request, to check its {@code If-None-Match}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of postupcis in body, when the response
+     * is not cached, as it is not JSON or was read from a read replica, or else {@code null}: the response has then
+     * been written from the cache, or has the status {@code 304 (Not Modified)}.
      */
     @GetMapping("/postupcis")
-    public ResponseEntity<List<Postupci>> getAllPostupcis(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResponseEntity<List<Postupci>> getAllPostupcis(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = CountMode.PARAMETER, required = false) String count,
+        @RequestParam(value = "ime.search", required = false) String imeSearch,
+        ServletWebRequest webRequest
+    ) {
         log.debug("REST request to get a page of Postupcis");
-        Page<Postupci> page = postupciRepository.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        String eTag = ListETagUtil.createETag(webRequest, entityChangeStamps.getStamp(Postupci.class));
+        if (ListETagUtil.checkNotModified(webRequest, eTag)) {
+            return null;
+        }
+        return listResponseCache.serve(
+            webRequest,
+            Postupci.class,
+            uriBuilder -> ListETagUtil.withETag(eTag, () -> findAllPostupcis(pageable, count, imeSearch, uriBuilder))
+        );
+    }
+
+    private ResponseEntity<List<Postupci>> findAllPostupcis(
+        Pageable pageable,
+        String count,
+        String imeSearch,
+        UriComponentsBuilder uriBuilder
+    ) {
+        if (imeSearch != null) {
+            Page<Postupci> page = postupciRepository.findAll(
+                new TextSearchSpecification<>(Postupci_.ime, Postupci_.id, imeSearch),
+                pageable
+            );
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        CountMode countMode = CountMode.fromParameter(count);
+        if (countMode == CountMode.NONE) {
+            Slice<Postupci> slice = postupciRepository.findAllBy(pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(uriBuilder, slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        OptionalLong estimate = countMode == CountMode.ESTIMATE
+            ? tableStatisticsRepository.estimateRowCount(PostupciRepository.TABLE_NAME)
+            : OptionalLong.empty();
+        Page<Postupci> page = estimate.isPresent()
+            ? new PageImpl<>(postupciRepository.findAllBy(pageable).getContent(), pageable, estimate.getAsLong())
+            : singleFlight.execute(
+                "postupcis.page",
+                () -> postupciRepository.findAll(pageable),
+                pageable,
+                entityChangeStamps.getStamp(Postupci.class)
+            );
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /postupcis?fields=id,ime} : get some fields of all the postupcis.
+     * <p>
+     * The fields are read as rows instead of entities, and returned as objects with only these fields.
+     * With {@code Accept: application/vnd.pagnation.columnar}, they are returned in the columnar shape of
+     * {@link pagnation.web.rest.util.ColumnarJsonHttpMessageConverter} instead.
+     *
+     * @param pageable the pagination information.
+     * @param fields the comma separated fields to return, among {@code id}, {@code broj}, {@code ime} and {@code version}.
+     * @param count how the total is computed, {@code exact} by default, {@code none} or {@code estimate}.
+     * @param imeSearch a term the ime of the postupcis must contain, ignoring case. The matches are ranked unless
+     * {@code pageable} has a sort.
+     * @param webRequest the request, to check its {@code If-None-Match}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of postupci fields in body,
+     * or {@code null} with status {@code 304 (Not Modified)}, or with status {@code 400 (Bad Request)} if a field is unknown.
+     */
+    @GetMapping(value = "/postupcis", params = FieldsUtil.FIELDS_PARAMETER)
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Map<String, Object>>> getAllPostupcisFields(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(FieldsUtil.FIELDS_PARAMETER) String fields,
+        @RequestParam(value = CountMode.PARAMETER, required = false) String count,
+        @RequestParam(value = "ime.search", required = false) String imeSearch,
+        ServletWebRequest webRequest
+    ) {
+        log.debug("REST request to get fields {} of a page of Postupcis", fields);
+        List<String> selectedFields = FieldsUtil.parseFields(fields, PROJECTED_FIELDS, ENTITY_NAME);
+        String eTag = ListETagUtil.createETag(webRequest, entityChangeStamps.getStamp(Postupci.class));
+        if (ListETagUtil.checkNotModified(webRequest, eTag)) {
+            return null;
+        }
+        return ListETagUtil.withETag(eTag, () -> findAllPostupcisFields(pageable, selectedFields, count, imeSearch));
+    }
+
+    private ResponseEntity<List<Map<String, Object>>> findAllPostupcisFields(
+        Pageable pageable,
+        List<String> selectedFields,
+        String count,
+        String imeSearch
+    ) {
+        Specification<Postupci> specification = imeSearch == null
+            ? null
+            : new TextSearchSpecification<>(Postupci_.ime, Postupci_.id, imeSearch);
+        CountMode countMode = CountMode.fromParameter(count);
+        int limit = countMode == CountMode.NONE ? pageable.getPageSize() + 1 : pageable.getPageSize();
+        List<Map<String, Object>> rows = projectionRepository.findAll(
+            Postupci.class,
+            specification,
+            selectedFields,
+            pageable.getSort(),
+            pageable.getOffset(),
+            limit
+        );
+        if (countMode == CountMode.NONE) {
+            boolean hasNext = rows.size() > pageable.getPageSize();
+            Slice<Map<String, Object>> slice = new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+            HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice
+            );
+            return ResponseEntity.ok().headers(headers).body(FieldRows.of(selectedFields, slice.getContent()));
+        }
+        OptionalLong estimate = countMode == CountMode.ESTIMATE && specification == null
+            ? tableStatisticsRepository.estimateRowCount(PostupciRepository.TABLE_NAME)
+            : OptionalLong.empty();
+        Page<Map<String, Object>> page = estimate.isPresent()
+            ? new PageImpl<>(rows, pageable, estimate.getAsLong())
+            : PageableExecutionUtils.getPage(rows, pageable, () -> postupciRepository.count(specification));
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(FieldRows.of(selectedFields, page.getContent()));
+    }
+
     /**
      * {@code GET  /postupcis/:id} : get the "id" postupci.
+     * <p>
+     * The response carries the version of the postupci as strong {@code ETag}: when it matches {@code If-None-Match},
+     * the response is a {@code 304 (Not Modified)} without body.
      *
      * @param id the id of the postupci to retrieve.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the postupci, or with status {@code 404 (Not Found)}.
@@ -170,7 +429,7 @@ public class PostupciResource {
     public ResponseEntity<Postupci> getPostupci(@PathVariable Long id) {
         log.debug("REST request to get Postupci : {}", id);
         Optional<Postupci> postupci = postupciRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(postupci);
+        return ResponseUtil.wrapOrNotFound(postupci, ETagUtil.createETagHeaders(postupci.map(Postupci::getVersion).orElse(null)));
     }
 
     /**
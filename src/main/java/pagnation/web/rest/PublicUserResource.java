@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import pagnation.service.UserService;
 import pagnation.service.dto.UserDTO;
+import pagnation.web.rest.util.FieldRows;
+import pagnation.web.rest.util.FieldsUtil;
 import tech.jhipster.web.util.PaginationUtil;
 
 @RestController
@@ -24,6 +26,8 @@ public class PublicUserResource {
         Arrays.asList("id", "login", "firstName", "lastName", "email", "activated", "langKey")
     );
 
+    private static final Set<String> PROJECTED_FIELDS = Set.of("id", "login");
+
     private final Logger log = LoggerFactory.getLogger(PublicUserResource.class);
 
     private final UserService userService;
@@ -50,6 +54,33 @@ public class PublicUserResource {
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET /users?fields=login} : get some public fields of all users - calling this are allowed for anyone.
+     * <p>
+     * With {@code Accept: application/vnd.pagnation.columnar}, the fields are returned in the columnar shape of
+     * {@link pagnation.web.rest.util.ColumnarJsonHttpMessageConverter}.
+     *
+     * @param pageable the pagination information.
+     * @param fields the comma separated fields to return, among {@code id} and {@code login}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the fields of all users, or with status
+     * {@code 400 (Bad Request)} if a field is unknown.
+     */
+    @GetMapping(value = "/users", params = FieldsUtil.FIELDS_PARAMETER)
+    public ResponseEntity<List<Map<String, Object>>> getAllPublicUsersFields(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(FieldsUtil.FIELDS_PARAMETER) String fields
+    ) {
+        log.debug("REST request to get fields {} of all public User names", fields);
+        List<String> selectedFields = FieldsUtil.parseFields(fields, PROJECTED_FIELDS, "userManagement");
+        if (!onlyContainsAllowedProperties(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final Page<Map<String, Object>> page = userService.getAllPublicUserFields(selectedFields, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return new ResponseEntity<>(FieldRows.of(selectedFields, page.getContent()), headers, HttpStatus.OK);
+    }
+
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
         return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
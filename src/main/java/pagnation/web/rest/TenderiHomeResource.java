@@ -11,9 +11,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import pagnation.domain.TenderiHome;
 import pagnation.repository.TenderiHomeRepository;
 import pagnation.web.rest.errors.BadRequestAlertException;
+import pagnation.web.rest.util.ListResponseCache;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -29,19 +31,31 @@ public class TenderiHomeResource {
 
     private final TenderiHomeRepository tenderiHomeRepository;
 
-    public TenderiHomeResource(TenderiHomeRepository tenderiHomeRepository) {
+    private final ListResponseCache listResponseCache;
+
+    public TenderiHomeResource(TenderiHomeRepository tenderiHomeRepository, ListResponseCache listResponseCache) {
         this.tenderiHomeRepository = tenderiHomeRepository;
+        this.listResponseCache = listResponseCache;
     }
 
     /**
      * {@code GET  /tenderi-homes} : get all the tenderiHomes.
+     * <p>
+     * The JSON responses are kept in the {@link ListResponseCache} until a tenderiHome changes.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tenderiHomes in body.
+     * @param webRequest the request, to serve it from the cache.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tenderiHomes in body, when the
+     * response is not cached, as it is not JSON or was read from a read replica, or else {@code null}: the response
+     * has then been written from the cache.
      */
     @GetMapping("/tenderi-homes")
-    public List<TenderiHome> getAllTenderiHomes() {
+    public ResponseEntity<List<TenderiHome>> getAllTenderiHomes(ServletWebRequest webRequest) {
         log.debug("REST request to get all TenderiHomes");
-        return tenderiHomeRepository.findAll();
+        return listResponseCache.serve(
+            webRequest,
+            TenderiHome.class,
+            uriBuilder -> ResponseEntity.ok(tenderiHomeRepository.findAll())
+        );
     }
 
     /**
@@ -4,6 +4,8 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
 import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.validation.Valid;
 import javax.validation.constraints.Pattern;
 import org.slf4j.Logger;
@@ -28,6 +30,8 @@ import pagnation.service.dto.AdminUserDTO;
 import pagnation.web.rest.errors.BadRequestAlertException;
 import pagnation.web.rest.errors.EmailAlreadyUsedException;
 import pagnation.web.rest.errors.LoginAlreadyUsedException;
+import pagnation.web.rest.util.FieldRows;
+import pagnation.web.rest.util.FieldsUtil;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -76,6 +80,10 @@ public class UserResource {
         )
     );
 
+    private static final Set<String> PROJECTED_FIELDS = Stream
+        .concat(ALLOWED_ORDERED_PROPERTIES.stream(), Stream.of("imageUrl"))
+        .collect(Collectors.toUnmodifiableSet());
+
     private final Logger log = LoggerFactory.getLogger(UserResource.class);
 
     @Value("${jhipster.clientApp.name}")
@@ -176,6 +184,34 @@ public class UserResource {
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET /admin/users?fields=id,login} : get some fields of all users - calling this are only allowed for the administrators.
+     * <p>
+     * With {@code Accept: application/vnd.pagnation.columnar}, the fields are returned in the columnar shape of
+     * {@link pagnation.web.rest.util.ColumnarJsonHttpMessageConverter}.
+     *
+     * @param pageable the pagination information.
+     * @param fields the comma separated fields to return, among the sortable properties and {@code imageUrl}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the fields of all users, or with status
+     * {@code 400 (Bad Request)} if a field is unknown.
+     */
+    @GetMapping(value = "/users", params = FieldsUtil.FIELDS_PARAMETER)
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<Map<String, Object>>> getAllUsersFields(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(FieldsUtil.FIELDS_PARAMETER) String fields
+    ) {
+        log.debug("REST request to get fields {} of all User for an admin", fields);
+        List<String> selectedFields = FieldsUtil.parseFields(fields, PROJECTED_FIELDS, "userManagement");
+        if (!onlyContainsAllowedProperties(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final Page<Map<String, Object>> page = userService.getAllManagedUserFields(selectedFields, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return new ResponseEntity<>(FieldRows.of(selectedFields, page.getContent()), headers, HttpStatus.OK);
+    }
+
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
         return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
@@ -0,0 +1,67 @@
+package pagnation.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import pagnation.web.rest.errors.BadRequestAlertException;
+
+/**
+ * Utility class reading the body of batch requests.
+ */
+public final class BatchRequestUtil {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private BatchRequestUtil() {}
+
+    /**
+     * Read the items of a batch lazily, from either a JSON array or newline delimited JSON objects.
+     *
+     * @param objectMapper the mapper of the items.
+     * @param type the type of the items.
+     * @param body the request body.
+     * @param entityName the name of the entity, used in the error alert.
+     * @return an iterator throwing {@link BadRequestAlertException} when it reaches an invalid item.
+     * @throws IOException if the body couldn't be read.
+     */
+    public static <T> Iterator<T> readItems(ObjectMapper objectMapper, Class<T> type, InputStream body, String entityName)
+        throws IOException {
+        MappingIterator<T> items;
+        try {
+            items = objectMapper.readerFor(type).readValues(body);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestAlertException("Invalid batch", entityName, "batchinvalid");
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return items.hasNextValue();
+                } catch (JsonProcessingException e) {
+                    throw new BadRequestAlertException("Invalid batch", entityName, "batchinvalid");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return items.nextValue();
+                } catch (JsonProcessingException e) {
+                    throw new BadRequestAlertException("Invalid batch", entityName, "batchinvalid");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+}
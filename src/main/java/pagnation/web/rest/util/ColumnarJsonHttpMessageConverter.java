@@ -0,0 +1,111 @@
+package pagnation.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Writes the rows of a {@code fields} list response in a columnar JSON shape, which does not repeat the field names
+ * in every row: {@code {"columns":["id","ime"],"rows":[[1,"a"],[2,"b"]]}}.
+ * <p>
+ * The columns are the selected fields of a {@link FieldRows}, so that an empty page still has its columns, or else the
+ * keys of the first row.
+ * <p>
+ * It is selected with {@code Accept: application/vnd.pagnation.columnar}. The media type has no {@code +json} suffix,
+ * so that the Jackson converter, which writes any {@code application/*+json}, does not claim it first.
+ */
+public class ColumnarJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<Map<String, Object>>> {
+
+    public static final String COLUMNAR_JSON_VALUE = "application/vnd.pagnation.columnar";
+
+    public static final MediaType COLUMNAR_JSON = MediaType.valueOf(COLUMNAR_JSON_VALUE);
+
+    private final ObjectMapper objectMapper;
+
+    public ColumnarJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(COLUMNAR_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(@Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(mediaType) && supports(clazz) && (type == null || isListOfMaps(type));
+    }
+
+    private static boolean isListOfMaps(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return false;
+        }
+        Type element = ((ParameterizedType) type).getActualTypeArguments()[0];
+        Type rawElement = element instanceof ParameterizedType ? ((ParameterizedType) element).getRawType() : element;
+        return rawElement instanceof Class && Map.class.isAssignableFrom((Class<?>) rawElement);
+    }
+
+    @Override
+    protected void writeInternal(List<Map<String, Object>> rows, @Nullable Type type, HttpOutputMessage outputMessage)
+        throws IOException {
+        List<String> columns;
+        if (rows instanceof FieldRows) {
+            columns = ((FieldRows) rows).getColumns();
+        } else {
+            columns = rows.isEmpty() ? Collections.emptyList() : new ArrayList<>(rows.get(0).keySet());
+        }
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputMessage.getBody(), JsonEncoding.UTF8);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("columns");
+        for (String column : columns) {
+            generator.writeString(column);
+        }
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("rows");
+        for (Map<String, Object> row : rows) {
+            generator.writeStartArray();
+            for (String column : columns) {
+                generator.writeObject(row.get(column));
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        // the response body is closed by the container
+        generator.flush();
+    }
+
+    @Override
+    public List<Map<String, Object>> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar JSON can only be written", inputMessage);
+    }
+
+    @Override
+    protected List<Map<String, Object>> readInternal(Class<? extends List<Map<String, Object>>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar JSON can only be written", inputMessage);
+    }
+}
@@ -0,0 +1,37 @@
+package pagnation.web.rest.util;
+
+import java.util.Locale;
+import pagnation.web.rest.errors.BadRequestAlertException;
+
+/**
+ * How the total number of elements is computed for a paginated list, selected with the {@code count} request parameter.
+ */
+public enum CountMode {
+    /**
+     * Run a count query, the total is returned in {@code X-Total-Count}.
+     */
+    EXACT,
+
+    /**
+     * Do not count, read one more element than the page size to know if there is a next page.
+     */
+    NONE,
+
+    /**
+     * Use the row estimate of the database planner when the list is not filtered, and count otherwise.
+     */
+    ESTIMATE;
+
+    public static final String PARAMETER = "count";
+
+    public static CountMode fromParameter(String parameter) {
+        if (parameter == null || parameter.isEmpty()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(parameter.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid count mode", PARAMETER, "countinvalid");
+        }
+    }
+}
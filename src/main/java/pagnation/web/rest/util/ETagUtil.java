@@ -0,0 +1,57 @@
+package pagnation.web.rest.util;
+
+import org.springframework.http.HttpHeaders;
+import pagnation.web.rest.errors.BadRequestAlertException;
+
+/**
+ * Utility class for the strong {@code ETag}s of versioned entities, which are their quoted version.
+ */
+public final class ETagUtil {
+
+    private static final String WILDCARD = "*";
+
+    private ETagUtil() {}
+
+    /**
+     * @param version the version of an entity.
+     * @return the strong entity tag of that version, {@code null} if the version is unknown.
+     */
+    public static String fromVersion(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * @param version the version of an entity.
+     * @return the headers with the strong entity tag of that version.
+     */
+    public static HttpHeaders createETagHeaders(Long version) {
+        HttpHeaders headers = new HttpHeaders();
+        if (version != null) {
+            headers.setETag(fromVersion(version));
+        }
+        return headers;
+    }
+
+    /**
+     * Parse the {@code If-Match} header of an update.
+     *
+     * @param ifMatch the header value, if any.
+     * @param entityName the name of the entity, used in the error alert.
+     * @return the expected version of the entity, {@code null} if any version may be updated.
+     */
+    public static Long parseIfMatch(String ifMatch, String entityName) {
+        if (ifMatch == null || WILDCARD.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        // weak tags never match with the strong comparison of If-Match, and lists of tags are not supported
+        throw new BadRequestAlertException("Invalid If-Match, expected a single strong ETag", entityName, "ifmatchinvalid");
+    }
+}
@@ -0,0 +1,56 @@
+package pagnation.web.rest.util;
+
+import java.util.Locale;
+import pagnation.web.rest.errors.BadRequestAlertException;
+
+/**
+ * Formats of the streaming exports, selected with the {@code format} request parameter.
+ */
+public enum ExportFormat {
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson"),
+
+    /**
+     * RFC 4180 comma separated values, with a header line.
+     */
+    CSV("text/csv;charset=UTF-8"),
+
+    /**
+     * The JSON objects encoded in Smile, one root value after the other.
+     */
+    SMILE("application/x-jackson-smile"),
+
+    /**
+     * The JSON objects encoded in CBOR, as a RFC 8742 CBOR sequence.
+     */
+    CBOR("application/cbor-seq");
+
+    public static final String PARAMETER = "format";
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ExportFormat fromParameter(String parameter) {
+        if (parameter == null || parameter.isEmpty()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(parameter.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid export format", PARAMETER, "formatinvalid");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package pagnation.web.rest.util;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rows of a {@code fields} list response, with the selected fields as columns: the columns are known even when
+ * there is no row, for the columnar shape of {@link ColumnarJsonHttpMessageConverter}.
+ * <p>
+ * It is written as a plain list of rows in the other representations.
+ */
+public final class FieldRows extends AbstractList<Map<String, Object>> {
+
+    private final List<String> columns;
+
+    private final List<Map<String, Object>> rows;
+
+    private FieldRows(List<String> columns, List<Map<String, Object>> rows) {
+        this.columns = Collections.unmodifiableList(columns);
+        this.rows = rows;
+    }
+
+    /**
+     * @param columns the selected fields, in the order of the columns.
+     * @param rows the rows, with the selected fields as keys.
+     * @return the rows with their columns.
+     */
+    public static FieldRows of(List<String> columns, List<Map<String, Object>> rows) {
+        return new FieldRows(columns, rows);
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public Map<String, Object> get(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+}
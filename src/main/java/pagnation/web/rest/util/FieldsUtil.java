@@ -0,0 +1,39 @@
+package pagnation.web.rest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import pagnation.web.rest.errors.BadRequestAlertException;
+
+/**
+ * Utility class for the {@code fields} request parameter, which selects the fields returned by list requests.
+ */
+public final class FieldsUtil {
+
+    public static final String FIELDS_PARAMETER = "fields";
+
+    private FieldsUtil() {}
+
+    /**
+     * Parse a comma separated list of fields, such as {@code id,ime}.
+     *
+     * @param fields the request parameter.
+     * @param allowed the fields which can be selected.
+     * @param entityName the name of the entity, used in the error alert.
+     * @return the distinct fields, in the requested order.
+     * @throws BadRequestAlertException if no field or an unknown field is requested.
+     */
+    public static List<String> parseFields(String fields, Set<String> allowed, String entityName) {
+        List<String> parsed = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!allowed.contains(trimmed)) {
+                throw new BadRequestAlertException("Invalid field " + trimmed, entityName, "fieldsinvalid");
+            }
+            if (!parsed.contains(trimmed)) {
+                parsed.add(trimmed);
+            }
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,84 @@
+package pagnation.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import pagnation.repository.ReplicaReads;
+
+/**
+ * Utility class for the weak {@code ETag}s of list responses.
+ * <p>
+ * A list response only depends on its request parameters (the criteria, the page, the sort...), on its representation
+ * (the {@code Accept} header) and on the state of the listed table, so its {@code ETag} is derived from the query
+ * string, the {@code Accept} header and the change stamp of the table. It can be checked against {@code If-None-Match}
+ * before running any query.
+ * <p>
+ * The change stamp is the one of the primary, so a body read from a read replica, which may lag behind, is sent
+ * without {@code ETag}: a client could otherwise keep a stale body under the current tag until the next write.
+ */
+public final class ListETagUtil {
+
+    private ListETagUtil() {}
+
+    /**
+     * Create the weak {@code ETag} of a list response.
+     *
+     * @param request the list request.
+     * @param changeStamp the change stamp of the listed table, read before running any query.
+     * @return the weak {@code ETag}.
+     */
+    public static String createETag(ServletWebRequest request, String changeStamp) {
+        String queryString = request.getRequest().getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String key = changeStamp + "?" + (queryString == null ? "" : queryString) + "#" + (accept == null ? "" : accept);
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Check the weak {@code ETag} of a list response against the {@code If-None-Match} of the request.
+     *
+     * @param request the list request.
+     * @param eTag the {@code ETag} of the response, from {@link #createETag(ServletWebRequest, String)}.
+     * @return {@code true} if the response is not modified: its status is then set to {@code 304 (Not Modified)}, and
+     * the handler should return {@code null} without further processing.
+     */
+    public static boolean checkNotModified(ServletWebRequest request, String eTag) {
+        if (request.getResponse() != null) {
+            request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        // checked without the response, which would otherwise get the ETag before the body is known
+        if (!new ServletWebRequest(request.getRequest()).checkNotModified(eTag)) {
+            return false;
+        }
+        if (request.getResponse() != null) {
+            request.getResponse().setStatus(HttpStatus.NOT_MODIFIED.value());
+            request.getResponse().setHeader(HttpHeaders.ETAG, eTag);
+        }
+        return true;
+    }
+
+    /**
+     * Compute a list response, and give it its weak {@code ETag} unless it was read from a replica.
+     *
+     * @param eTag the {@code ETag} of the response, from {@link #createETag(ServletWebRequest, String)}.
+     * @param compute computes the response.
+     * @param <T> the type of the body.
+     * @return the computed response, with the {@code ETag} if it is a {@code 200 (OK)} read from the primary.
+     */
+    public static <T> ResponseEntity<T> withETag(String eTag, Supplier<ResponseEntity<T>> compute) {
+        try (ReplicaReads.Scope scope = ReplicaReads.open()) {
+            ResponseEntity<T> response = compute.get();
+            if (response == null || response.getStatusCode() != HttpStatus.OK || scope.hasReadFromReplica()) {
+                return response;
+            }
+            HttpHeaders headers = new HttpHeaders();
+            headers.addAll(response.getHeaders());
+            headers.setETag(eTag);
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+        }
+    }
+}
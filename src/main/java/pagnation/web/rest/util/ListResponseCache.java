@@ -0,0 +1,274 @@
+package pagnation.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import pagnation.config.ApplicationProperties;
+import pagnation.repository.ReplicaReads;
+import pagnation.service.EntityChangeStamps;
+
+/**
+ * Stale-while-revalidate cache of the JSON list responses: the serialized body and the headers of a response are kept
+ * by request URL, {@code Accept} header and authorities of the user, and served again without running any query. The
+ * URL includes the scheme and host, as the pagination links of the cached headers are absolute.
+ * <p>
+ * An entry is dropped as soon as the change stamp of its entity moves, so a write is never followed by a stale list,
+ * and the responses read from a read replica, which may lag behind the writes, are not cached.
+ * Past {@code application.cache.responses.soft-ttl}, an entry is still served, and recomputed in the background, one
+ * refresh at a time per entry; the {@link #CACHE_NAME} region expires the entries nobody asked for.
+ * <p>
+ * Only the requests which prefer {@code application/json} are cached; each is counted by the
+ * {@code http.response.cache.requests} meter, with a {@code result} of {@code hit}, {@code stale} or {@code miss}.
+ */
+@Component
+public class ListResponseCache {
+
+    public static final String CACHE_NAME = "listResponses";
+
+    public static final String METER_NAME = "http.response.cache.requests";
+
+    private final Logger log = LoggerFactory.getLogger(ListResponseCache.class);
+
+    private final ApplicationProperties.Cache.Responses properties;
+
+    private final Cache cache;
+
+    private final EntityChangeStamps entityChangeStamps;
+
+    private final ObjectMapper objectMapper;
+
+    private final Executor executor;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Counter hits;
+
+    private final Counter staleHits;
+
+    private final Counter misses;
+
+    public ListResponseCache(
+        ApplicationProperties applicationProperties,
+        CacheManager cacheManager,
+        EntityChangeStamps entityChangeStamps,
+        ObjectMapper objectMapper,
+        @Qualifier("taskExecutor") Executor executor,
+        MeterRegistry registry
+    ) {
+        this.properties = applicationProperties.getCache().getResponses();
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.entityChangeStamps = entityChangeStamps;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.hits = counter(registry, "hit");
+        this.staleHits = counter(registry, "stale");
+        this.misses = counter(registry, "miss");
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter
+            .builder(METER_NAME)
+            .tag("result", result)
+            .description("The cacheable list requests, served from the response cache or computed")
+            .register(registry);
+    }
+
+    /**
+     * Serve a list response from the cache, or compute it and cache it.
+     *
+     * @param request the list request.
+     * @param entityClass the listed entity, whose change stamp invalidates the cached responses.
+     * @param compute computes the response, from a builder of the request URL for the pagination links. It may run
+     * in the background, after the request, so it must not read the request itself.
+     * @param <T> the type of the body.
+     * @return the computed response, when it is not cached: the request is not cacheable, or the response was read
+     * from a read replica, or is not a {@code 200 (OK)} with a body. Otherwise {@code null}: the cached response has
+     * then been written, and the handler should return {@code null} without further processing.
+     */
+    public <T> ResponseEntity<T> serve(
+        ServletWebRequest request,
+        Class<?> entityClass,
+        Function<UriComponentsBuilder, ResponseEntity<T>> compute
+    ) {
+        HttpServletRequest httpRequest = request.getRequest();
+        String url = ServletUriComponentsBuilder.fromRequest(httpRequest).toUriString();
+        if (!properties.isEnabled() || cache == null || request.getResponse() == null || !prefersJson(request)) {
+            return compute.apply(UriComponentsBuilder.fromHttpUrl(url));
+        }
+        String key = createKey(url, request);
+        String stamp = entityChangeStamps.getStamp(entityClass);
+        CachedResponse cached = cache.get(key, CachedResponse.class);
+        if (cached != null && stamp.equals(cached.stamp)) {
+            if (System.currentTimeMillis() - cached.createdAt < properties.getSoftTtl().toMillis()) {
+                hits.increment();
+            } else {
+                staleHits.increment();
+                refreshInBackground(key, entityClass, url, compute);
+            }
+            write(cached, request.getResponse());
+            return null;
+        }
+        misses.increment();
+        ResponseEntity<T> response;
+        CachedResponse computed = null;
+        try (ReplicaReads.Scope scope = ReplicaReads.open()) {
+            response = compute.apply(UriComponentsBuilder.fromHttpUrl(url));
+            if (!scope.hasReadFromReplica()) {
+                computed = store(key, stamp, response);
+            }
+        }
+        if (computed == null) {
+            return response;
+        }
+        write(computed, request.getResponse());
+        return null;
+    }
+
+    private <T> void refreshInBackground(
+        String key,
+        Class<?> entityClass,
+        String url,
+        Function<UriComponentsBuilder, ResponseEntity<T>> compute
+    ) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        Runnable refresh = () -> {
+            try (ReplicaReads.Scope scope = ReplicaReads.open()) {
+                String stamp = entityChangeStamps.getStamp(entityClass);
+                ResponseEntity<T> response = compute.apply(UriComponentsBuilder.fromHttpUrl(url));
+                if (!scope.hasReadFromReplica()) {
+                    store(key, stamp, response);
+                }
+                log.debug("Refreshed the cached response of {}", url);
+            } catch (RuntimeException e) {
+                log.warn("Cannot refresh the cached response of {}: {}", url, e.toString());
+            } finally {
+                refreshing.remove(key);
+            }
+        };
+        try {
+            executor.execute(DelegatingSecurityContextRunnable.create(refresh, SecurityContextHolder.getContext()));
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.debug("Cannot refresh the cached response of {} now: {}", url, e.getMessage());
+        }
+    }
+
+    /**
+     * Serialize and cache a response computed while the stamp of its entity had a given value: a later write moves
+     * the stamp, so the entry is never served again.
+     */
+    private CachedResponse store(String key, String stamp, ResponseEntity<?> response) {
+        if (response == null || response.getStatusCode() != HttpStatus.OK || !response.hasBody()) {
+            return null;
+        }
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response.getBody());
+            CachedResponse cached = new CachedResponse(stamp, response.getHeaders(), body);
+            cache.put(key, cached);
+            return cached;
+        } catch (JsonProcessingException e) {
+            log.warn("Cannot cache the response of {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void write(CachedResponse cached, HttpServletResponse response) {
+        response.setStatus(HttpStatus.OK.value());
+        cached.headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(cached.body.length);
+        try {
+            response.getOutputStream().write(cached.body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The smile, cbor and columnar representations are not cached: the request must prefer {@code application/json}.
+     */
+    private static boolean prefersJson(ServletWebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(mediaTypes);
+            return !mediaTypes.isEmpty() && mediaTypes.get(0).equalsTypeAndSubtype(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static String createKey(String url, ServletWebRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String authorities = "";
+        if (authentication != null) {
+            authorities =
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().collect(Collectors.joining(","));
+        }
+        return url + "#" + request.getHeader(HttpHeaders.ACCEPT) + "@" + authorities;
+    }
+
+    private static final class CachedResponse implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String stamp;
+
+        private final long createdAt = System.currentTimeMillis();
+
+        private final Map<String, List<String>> headers = new LinkedHashMap<>();
+
+        private final byte[] body;
+
+        private CachedResponse(String stamp, HttpHeaders headers, byte[] body) {
+            this.stamp = stamp;
+            // the content type and length are set when writing
+            headers.forEach((name, values) -> {
+                if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    this.headers.put(name, Collections.unmodifiableList(new ArrayList<>(values)));
+                }
+            });
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package pagnation.web.rest.util;
+
+import java.text.MessageFormat;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling pagination without a total count.
+ * <p>
+ * Mirrors {@link tech.jhipster.web.util.PaginationUtil}, but as the total number of elements is unknown
+ * there is no {@code X-Total-Count} header and no {@code last} link.
+ */
+public final class SlicePaginationUtil {
+
+    public static final String HEADER_X_HAS_NEXT = "X-Has-Next";
+
+    public static final String HEADER_X_NEXT_CURSOR = "X-Next-Cursor";
+
+    public static final String CURSOR_PARAMETER = "after";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate pagination headers for a Spring Data {@link Slice} object.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the slice.
+     * @param <T> the type of object.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateSlicePaginationHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HEADER_X_HAS_NEXT, Boolean.toString(slice.hasNext()));
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            link.append(preparePageLink(uriBuilder, pageNumber + 1, pageSize, "next")).append(",");
+        }
+        if (slice.hasPrevious()) {
+            link.append(preparePageLink(uriBuilder, pageNumber - 1, pageSize, "prev")).append(",");
+        }
+        link.append(preparePageLink(uriBuilder, 0, pageSize, "first"));
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    /**
+     * Generate pagination headers for a keyset slice.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param nextCursor the cursor of the next slice, {@code null} if this is the last one.
+     * @return the {@link HttpHeaders}.
+     */
+    public static HttpHeaders generateCursorPaginationHttpHeaders(UriComponentsBuilder uriBuilder, String nextCursor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HEADER_X_HAS_NEXT, Boolean.toString(nextCursor != null));
+        if (nextCursor != null) {
+            headers.add(HEADER_X_NEXT_CURSOR, nextCursor);
+            headers.add(
+                HttpHeaders.LINK,
+                prepareLink(uriBuilder.replaceQueryParam(CURSOR_PARAMETER, nextCursor).replaceQueryParam("page"), "next")
+            );
+        }
+        return headers;
+    }
+
+    private static String preparePageLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        return prepareLink(uriBuilder.replaceQueryParam("page", pageNumber).replaceQueryParam("size", pageSize), relType);
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, String relType) {
+        return MessageFormat.format(HEADER_LINK_FORMAT, uriBuilder.toUriString().replace(",", "%2C").replace(";", "%3B"), relType);
+    }
+}
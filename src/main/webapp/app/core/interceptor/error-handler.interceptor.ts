@@ -13,6 +13,10 @@ export class ErrorHandlerInterceptor implements HttpInterceptor {
     return next.handle(request).pipe(
       tap({
         error: (err: HttpErrorResponse) => {
+          // 304 (Not Modified) answers a revalidation, it is not an error for the user
+          if (err.status === 304) {
+            return;
+          }
           if (!(err.status === 401 && (err.message === '' || err.url?.includes('api/account')))) {
             this.eventManager.broadcast(new EventWithContent('pagnationApp.httpError', err));
           }
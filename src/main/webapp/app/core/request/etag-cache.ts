@@ -0,0 +1,39 @@
+import { HttpErrorResponse, HttpHeaders, HttpParams, HttpResponse } from '@angular/common/http';
+import { Observable, of, throwError } from 'rxjs';
+import { catchError, tap } from 'rxjs/operators';
+
+const MAX_ENTRIES = 20;
+
+/**
+ * Last responses of a list endpoint by query parameters, revalidated with their ETag:
+ * a 304 (Not Modified) answer is replaced by the cached response.
+ */
+export class ETagCache<T> {
+  private responses = new Map<string, HttpResponse<T>>();
+
+  fetch(params: HttpParams, send: (headers: HttpHeaders) => Observable<HttpResponse<T>>): Observable<HttpResponse<T>> {
+    const key = params.toString();
+    const cached = this.responses.get(key);
+    const eTag = cached?.headers.get('ETag');
+    const headers = eTag ? new HttpHeaders({ 'If-None-Match': eTag }) : new HttpHeaders();
+    return send(headers).pipe(
+      tap(response => this.store(key, response)),
+      catchError((error: HttpErrorResponse) => (error.status === 304 && cached ? of(cached) : throwError(() => error)))
+    );
+  }
+
+  private store(key: string, response: HttpResponse<T>): void {
+    this.responses.delete(key);
+    if (!response.headers.has('ETag')) {
+      return;
+    }
+    this.responses.set(key, response);
+    if (this.responses.size > MAX_ENTRIES) {
+      // maps iterate in insertion order: drop the least recently stored response
+      const oldest = this.responses.keys().next();
+      if (!oldest.done) {
+        this.responses.delete(oldest.value);
+      }
+    }
+  }
+}
@@ -2,10 +2,11 @@ export interface IPonude {
   id?: number;
   broj?: number | null;
   ime?: string | null;
+  version?: number | null;
 }
 
 export class Ponude implements IPonude {
-  constructor(public id?: number, public broj?: number | null, public ime?: string | null) {}
+  constructor(public id?: number, public broj?: number | null, public ime?: string | null, public version?: number | null) {}
 }
 
 export function getPonudeIdentifier(ponude: IPonude): number | undefined {
@@ -1,10 +1,11 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpResponse } from '@angular/common/http';
+import { HttpClient, HttpHeaders, HttpResponse } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
 import { isPresent } from 'app/core/util/operators';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
 import { createRequestOption } from 'app/core/request/request-util';
+import { ETagCache } from 'app/core/request/etag-cache';
 import { IPonude, getPonudeIdentifier } from '../ponude.model';
 
 export type EntityResponseType = HttpResponse<IPonude>;
@@ -13,6 +14,7 @@ export type EntityArrayResponseType = HttpResponse<IPonude[]>;
 @Injectable({ providedIn: 'root' })
 export class PonudeService {
   protected resourceUrl = this.applicationConfigService.getEndpointFor('api/ponudes');
+  protected listCache = new ETagCache<IPonude[]>();
 
   constructor(protected http: HttpClient, protected applicationConfigService: ApplicationConfigService) {}
 
@@ -21,11 +23,17 @@ export class PonudeService {
   }
 
   update(ponude: IPonude): Observable<EntityResponseType> {
-    return this.http.put<IPonude>(`${this.resourceUrl}/${getPonudeIdentifier(ponude) as number}`, ponude, { observe: 'response' });
+    return this.http.put<IPonude>(`${this.resourceUrl}/${getPonudeIdentifier(ponude) as number}`, ponude, {
+      headers: this.ifMatch(ponude),
+      observe: 'response',
+    });
   }
 
   partialUpdate(ponude: IPonude): Observable<EntityResponseType> {
-    return this.http.patch<IPonude>(`${this.resourceUrl}/${getPonudeIdentifier(ponude) as number}`, ponude, { observe: 'response' });
+    return this.http.patch<IPonude>(`${this.resourceUrl}/${getPonudeIdentifier(ponude) as number}`, ponude, {
+      headers: this.ifMatch(ponude),
+      observe: 'response',
+    });
   }
 
   find(id: number): Observable<EntityResponseType> {
@@ -34,13 +42,23 @@ export class PonudeService {
 
   query(req?: any): Observable<EntityArrayResponseType> {
     const options = createRequestOption(req);
-    return this.http.get<IPonude[]>(this.resourceUrl, { params: options, observe: 'response' });
+    return this.listCache.fetch(options, headers =>
+      this.http.get<IPonude[]>(this.resourceUrl, { params: options, headers, observe: 'response' })
+    );
   }
 
   delete(id: number): Observable<HttpResponse<{}>> {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
 
+  /**
+   * Only update the entity if nobody else updated it since it was read.
+   */
+  protected ifMatch(ponude: IPonude): HttpHeaders {
+    const headers = new HttpHeaders();
+    return ponude.version == null ? headers : headers.set('If-Match', `"${ponude.version}"`);
+  }
+
   addPonudeToCollectionIfMissing(ponudeCollection: IPonude[], ...ponudesToCheck: (IPonude | null | undefined)[]): IPonude[] {
     const ponudes: IPonude[] = ponudesToCheck.filter(isPresent);
     if (ponudes.length > 0) {
@@ -19,6 +19,7 @@ export class PonudeUpdateComponent implements OnInit {
     id: [],
     broj: [],
     ime: [],
+    version: [],
   });
 
   constructor(protected ponudeService: PonudeService, protected activatedRoute: ActivatedRoute, protected fb: FormBuilder) {}
@@ -67,6 +68,7 @@ export class PonudeUpdateComponent implements OnInit {
       id: ponude.id,
       broj: ponude.broj,
       ime: ponude.ime,
+      version: ponude.version,
     });
   }
 
@@ -76,6 +78,7 @@ export class PonudeUpdateComponent implements OnInit {
       id: this.editForm.get(['id'])!.value,
       broj: this.editForm.get(['broj'])!.value,
       ime: this.editForm.get(['ime'])!.value,
+      version: this.editForm.get(['version'])!.value,
     };
   }
 }
@@ -2,10 +2,11 @@ export interface IPostupci {
   id?: number;
   broj?: number | null;
   ime?: string | null;
+  version?: number | null;
 }
 
 export class Postupci implements IPostupci {
-  constructor(public id?: number, public broj?: number | null, public ime?: string | null) {}
+  constructor(public id?: number, public broj?: number | null, public ime?: string | null, public version?: number | null) {}
 }
 
 export function getPostupciIdentifier(postupci: IPostupci): number | undefined {
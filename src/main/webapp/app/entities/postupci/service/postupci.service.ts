@@ -1,10 +1,11 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpResponse } from '@angular/common/http';
+import { HttpClient, HttpHeaders, HttpResponse } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
 import { isPresent } from 'app/core/util/operators';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
 import { createRequestOption } from 'app/core/request/request-util';
+import { ETagCache } from 'app/core/request/etag-cache';
 import { IPostupci, getPostupciIdentifier } from '../postupci.model';
 
 export type EntityResponseType = HttpResponse<IPostupci>;
@@ -13,6 +14,7 @@ export type EntityArrayResponseType = HttpResponse<IPostupci[]>;
 @Injectable({ providedIn: 'root' })
 export class PostupciService {
   protected resourceUrl = this.applicationConfigService.getEndpointFor('api/postupcis');
+  protected listCache = new ETagCache<IPostupci[]>();
 
   constructor(protected http: HttpClient, protected applicationConfigService: ApplicationConfigService) {}
 
@@ -21,11 +23,15 @@ export class PostupciService {
   }
 
   update(postupci: IPostupci): Observable<EntityResponseType> {
-    return this.http.put<IPostupci>(`${this.resourceUrl}/${getPostupciIdentifier(postupci) as number}`, postupci, { observe: 'response' });
+    return this.http.put<IPostupci>(`${this.resourceUrl}/${getPostupciIdentifier(postupci) as number}`, postupci, {
+      headers: this.ifMatch(postupci),
+      observe: 'response',
+    });
   }
 
   partialUpdate(postupci: IPostupci): Observable<EntityResponseType> {
     return this.http.patch<IPostupci>(`${this.resourceUrl}/${getPostupciIdentifier(postupci) as number}`, postupci, {
+      headers: this.ifMatch(postupci),
       observe: 'response',
     });
   }
@@ -36,13 +42,23 @@ export class PostupciService {
 
   query(req?: any): Observable<EntityArrayResponseType> {
     const options = createRequestOption(req);
-    return this.http.get<IPostupci[]>(this.resourceUrl, { params: options, observe: 'response' });
+    return this.listCache.fetch(options, headers =>
+      this.http.get<IPostupci[]>(this.resourceUrl, { params: options, headers, observe: 'response' })
+    );
   }
 
   delete(id: number): Observable<HttpResponse<{}>> {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
 
+  /**
+   * Only update the entity if nobody else updated it since it was read.
+   */
+  protected ifMatch(postupci: IPostupci): HttpHeaders {
+    const headers = new HttpHeaders();
+    return postupci.version == null ? headers : headers.set('If-Match', `"${postupci.version}"`);
+  }
+
   addPostupciToCollectionIfMissing(postupciCollection: IPostupci[], ...postupcisToCheck: (IPostupci | null | undefined)[]): IPostupci[] {
     const postupcis: IPostupci[] = postupcisToCheck.filter(isPresent);
     if (postupcis.length > 0) {
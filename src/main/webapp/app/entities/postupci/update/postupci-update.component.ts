@@ -19,6 +19,7 @@ export class PostupciUpdateComponent implements OnInit {
     id: [],
     broj: [],
     ime: [],
+    version: [],
   });
 
   constructor(protected postupciService: PostupciService, protected activatedRoute: ActivatedRoute, protected fb: FormBuilder) {}
@@ -67,6 +68,7 @@ export class PostupciUpdateComponent implements OnInit {
       id: postupci.id,
       broj: postupci.broj,
       ime: postupci.ime,
+      version: postupci.version,
     });
   }
 
@@ -76,6 +78,7 @@ export class PostupciUpdateComponent implements OnInit {
       id: this.editForm.get(['id'])!.value,
       broj: this.editForm.get(['broj'])!.value,
       ime: this.editForm.get(['ime'])!.value,
+      version: this.editForm.get(['version'])!.value,
     };
   }
 }
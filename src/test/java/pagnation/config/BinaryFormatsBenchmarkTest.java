@@ -0,0 +1,105 @@
+package pagnation.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pagnation.domain.Ponude;
+
+/**
+ * Benchmark of the JSON, Smile and CBOR representations of a bulk list of ponudes, with the mappers of
+ * {@link JacksonConfiguration}, built from a builder with its modules.
+ * <p>
+ * The bytes and the mean encode and decode times of each format are logged. Only the sizes and the round trips
+ * are checked, as the times depend on the machine.
+ */
+class BinaryFormatsBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryFormatsBenchmarkTest.class);
+
+    private static final int PONUDES = 2000;
+
+    private static final int WARMUP_ITERATIONS = 20;
+
+    private static final int ITERATIONS = 50;
+
+    private static final TypeReference<List<Ponude>> PONUDE_LIST = new TypeReference<>() {};
+
+    @Test
+    void compareFormats() throws IOException {
+        List<Ponude> ponudes = new ArrayList<>();
+        for (long id = 1; id <= PONUDES; id++) {
+            ponudes.add(new Ponude().id(1000 + id).broj((int) id % 100).ime("Ponuda " + id).version(id % 3));
+        }
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", builder(jacksonConfiguration).build());
+        mappers.put("smile", jacksonConfiguration.smileHttpMessageConverter(builder(jacksonConfiguration)).getObjectMapper());
+        mappers.put("cbor", jacksonConfiguration.cborHttpMessageConverter(builder(jacksonConfiguration)).getObjectMapper());
+
+        // the payload, versions included, is the same in all the formats
+        JsonNode jsonTree = mappers.get("json").readTree(mappers.get("json").writeValueAsBytes(ponudes));
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            byte[] encoded = mapper.writeValueAsBytes(ponudes);
+            List<Ponude> decoded = mapper.readValue(encoded, PONUDE_LIST);
+            // the entities are equal by id: their fields are compared one by one, but the version, which is read-only
+            assertThat(decoded)
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("version")
+                .containsExactlyElementsOf(ponudes);
+            assertThat(mapper.readTree(encoded)).isEqualTo(jsonTree);
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(ponudes), PONUDE_LIST);
+            }
+            long encodeNanos = 0;
+            long decodeNanos = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                byte[] bytes = mapper.writeValueAsBytes(ponudes);
+                long encodedAt = System.nanoTime();
+                mapper.readValue(bytes, PONUDE_LIST);
+                decodeNanos += System.nanoTime() - encodedAt;
+                encodeNanos += encodedAt - start;
+            }
+            sizes.put(entry.getKey(), encoded.length);
+            log.info(
+                "{} ponudes in {}: {} bytes, encoded in {} µs, decoded in {} µs",
+                PONUDES,
+                entry.getKey(),
+                encoded.length,
+                encodeNanos / ITERATIONS / 1000,
+                decodeNanos / ITERATIONS / 1000
+            );
+        }
+
+        assertThat(sizes.get("smile")).isLessThan(sizes.get("json"));
+        assertThat(sizes.get("cbor")).isLessThan(sizes.get("json"));
+    }
+
+    /**
+     * A builder with the modules of {@link JacksonConfiguration}, as Spring Boot creates one for each mapper.
+     */
+    private static Jackson2ObjectMapperBuilder builder(JacksonConfiguration jacksonConfiguration) {
+        return Jackson2ObjectMapperBuilder
+            .json()
+            .modulesToInstall(
+                jacksonConfiguration.javaTimeModule(),
+                jacksonConfiguration.jdk8TimeModule(),
+                jacksonConfiguration.hibernate5Module(),
+                jacksonConfiguration.problemModule(),
+                jacksonConfiguration.constraintViolationProblemModule()
+            );
+    }
+}
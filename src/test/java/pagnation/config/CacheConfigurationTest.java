@@ -0,0 +1,172 @@
+package pagnation.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.ResourcePool;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.ResourceUnit;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.config.serializer.DefaultSerializerConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pagnation.domain.Authority;
+import pagnation.domain.Ponude;
+import pagnation.domain.Postupci;
+import pagnation.domain.TenderiHome;
+import pagnation.repository.UserRepository;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the tiers of the regions built by the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    @TempDir
+    Path diskPath;
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        applicationProperties = new ApplicationProperties();
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager =
+            provider.getCacheManager(
+                URI.create("urn:pagnation:" + diskPath.getFileName()),
+                new DefaultConfiguration(getClass().getClassLoader(), new DefaultPersistenceConfiguration(diskPath.toFile()))
+            );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void regionsWithoutTiersHaveTheDefaultHeapEntries() {
+        createCaches();
+
+        ResourcePools pools = getResourcePools(Authority.class.getName());
+        assertThat(pools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertPool(pools, ResourceType.Core.HEAP, 100, EntryUnit.ENTRIES);
+        assertThat(getSerializerTypes(Authority.class.getName())).isEmpty();
+    }
+
+    @Test
+    void heapEntriesAreSet() {
+        region(UserRepository.USERS_BY_LOGIN_CACHE).setHeapEntries(5000L);
+        createCaches();
+
+        ResourcePools pools = getResourcePools(UserRepository.USERS_BY_LOGIN_CACHE);
+        assertThat(pools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertPool(pools, ResourceType.Core.HEAP, 5000, EntryUnit.ENTRIES);
+        assertThat(getSerializerTypes(UserRepository.USERS_BY_LOGIN_CACHE)).isEmpty();
+    }
+
+    @Test
+    void heapMbTakesPrecedenceOverHeapEntries() {
+        region(Postupci.class.getName()).setHeapEntries(5000L);
+        region(Postupci.class.getName()).setHeapMb(2L);
+        createCaches();
+
+        ResourcePools pools = getResourcePools(Postupci.class.getName());
+        assertThat(pools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertPool(pools, ResourceType.Core.HEAP, 2, MemoryUnit.MB);
+    }
+
+    @Test
+    void offheapRegionsHaveSerializers() {
+        region(Ponude.class.getName()).setHeapEntries(500L);
+        region(Ponude.class.getName()).setOffheapMb(1L);
+        createCaches();
+
+        ResourcePools pools = getResourcePools(Ponude.class.getName());
+        assertThat(pools.getResourceTypeSet()).containsExactlyInAnyOrder(ResourceType.Core.HEAP, ResourceType.Core.OFFHEAP);
+        assertPool(pools, ResourceType.Core.HEAP, 500, EntryUnit.ENTRIES);
+        assertPool(pools, ResourceType.Core.OFFHEAP, 1, MemoryUnit.MB);
+        assertThat(getSerializerTypes(Ponude.class.getName()))
+            .containsExactlyInAnyOrder(DefaultSerializerConfiguration.Type.KEY, DefaultSerializerConfiguration.Type.VALUE);
+    }
+
+    @Test
+    void diskRegionsHaveSerializers() {
+        applicationProperties.getCache().setDiskPath(diskPath.toString());
+        region(TenderiHome.class.getName()).setOffheapMb(1L);
+        region(TenderiHome.class.getName()).setDiskMb(2L);
+        createCaches();
+
+        ResourcePools pools = getResourcePools(TenderiHome.class.getName());
+        assertThat(pools.getResourceTypeSet())
+            .containsExactlyInAnyOrder(ResourceType.Core.HEAP, ResourceType.Core.OFFHEAP, ResourceType.Core.DISK);
+        assertPool(pools, ResourceType.Core.HEAP, 100, EntryUnit.ENTRIES);
+        assertPool(pools, ResourceType.Core.OFFHEAP, 1, MemoryUnit.MB);
+        assertPool(pools, ResourceType.Core.DISK, 2, MemoryUnit.MB);
+        assertThat(pools.getPoolForResource(ResourceType.Core.DISK).isPersistent()).isFalse();
+        assertThat(getSerializerTypes(TenderiHome.class.getName()))
+            .containsExactlyInAnyOrder(DefaultSerializerConfiguration.Type.KEY, DefaultSerializerConfiguration.Type.VALUE);
+    }
+
+    @Test
+    void diskRegionsRequireADiskPath() {
+        region(TenderiHome.class.getName()).setDiskMb(2L);
+
+        assertThatThrownBy(this::createCaches)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("application.cache.disk-path");
+    }
+
+    private ApplicationProperties.Cache.Region region(String cacheName) {
+        return applicationProperties.getCache().getRegions().computeIfAbsent(cacheName, name -> new ApplicationProperties.Cache.Region());
+    }
+
+    private void createCaches() {
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    private org.ehcache.Cache<Object, Object> getEhcache(String cacheName) {
+        return cacheManager.getCache(cacheName).unwrap(org.ehcache.Cache.class);
+    }
+
+    private ResourcePools getResourcePools(String cacheName) {
+        return getEhcache(cacheName).getRuntimeConfiguration().getResourcePools();
+    }
+
+    private Set<DefaultSerializerConfiguration.Type> getSerializerTypes(String cacheName) {
+        return getEhcache(cacheName)
+            .getRuntimeConfiguration()
+            .getServiceConfigurations()
+            .stream()
+            .filter(DefaultSerializerConfiguration.class::isInstance)
+            .map(configuration -> ((DefaultSerializerConfiguration<?>) configuration).getType())
+            .collect(Collectors.toSet());
+    }
+
+    private static void assertPool(ResourcePools pools, ResourceType<?> type, long size, ResourceUnit unit) {
+        ResourcePool pool = pools.getPoolForResource(type);
+        assertThat(pool).isInstanceOf(SizedResourcePool.class);
+        assertThat(((SizedResourcePool) pool).getSize()).isEqualTo(size);
+        assertThat(((SizedResourcePool) pool).getUnit()).isEqualTo(unit);
+    }
+}
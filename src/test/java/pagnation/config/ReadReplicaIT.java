@@ -0,0 +1,76 @@
+package pagnation.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pagnation.IntegrationTest;
+import pagnation.domain.User;
+import pagnation.repository.UserRepository;
+
+/**
+ * Integration tests with a read replica, which is the test database itself: what is read from it must still not be
+ * cached, as a real replica may lag behind the primary.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(properties = ReadReplicaIT.REPLICA_URL_PROPERTY)
+class ReadReplicaIT {
+
+    static final String REPLICA_URL_PROPERTY =
+        "application.read-replicas.targets[0].url=jdbc:h2:mem:pagnation;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void clearCaches() {
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+    }
+
+    @Test
+    void listsReadFromAReplicaHaveNoETag() throws Exception {
+        restMockMvc.perform(get("/api/ponudes?sort=id,desc")).andExpect(status().isOk()).andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        restMockMvc
+            .perform(get("/api/postupcis?sort=id,desc&fields=id"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void usersReadFromAReplicaAreNotCached() {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        Optional<User> user = readOnlyTransaction.execute(status -> userRepository.findOneWithAuthoritiesByLogin("user"));
+        assertThat(user).isPresent();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("user")).isNull();
+
+        // outside of a transaction, the finder runs on the primary
+        assertThat(userRepository.findOneWithAuthoritiesByLogin("user")).isPresent();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("user")).isNotNull();
+    }
+}
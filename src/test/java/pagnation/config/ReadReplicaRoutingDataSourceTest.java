@@ -0,0 +1,120 @@
+package pagnation.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import pagnation.repository.ReplicaReads;
+
+/**
+ * Unit tests for the {@link ReadReplicaRoutingDataSource} class.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+
+    private DataSource firstReplica;
+
+    private DataSource secondReplica;
+
+    private Connection primaryConnection;
+
+    private Connection firstReplicaConnection;
+
+    private Connection secondReplicaConnection;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        primary = mock(DataSource.class);
+        firstReplica = mock(DataSource.class);
+        secondReplica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        firstReplicaConnection = mock(Connection.class);
+        secondReplicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    public void teardown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void writesGoToThePrimary() throws SQLException {
+        assertThat(createDataSource(false).getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicasInTurn() throws SQLException {
+        ReadReplicaRoutingDataSource dataSource = createDataSource(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(firstReplicaConnection);
+        assertThat(dataSource.getConnection()).isSameAs(secondReplicaConnection);
+        assertThat(dataSource.getConnection()).isSameAs(firstReplicaConnection);
+    }
+
+    @Test
+    void unavailableReplicaFallsBackAndIsSkipped() throws SQLException {
+        when(firstReplica.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available"));
+        ReadReplicaRoutingDataSource dataSource = createDataSource(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getUnavailableReplicas()).containsExactly("first");
+        assertThat(dataSource.getConnection()).isSameAs(secondReplicaConnection);
+        assertThat(dataSource.getConnection()).isSameAs(secondReplicaConnection);
+        verify(firstReplica, times(1)).getConnection();
+    }
+
+    @Test
+    void readsAfterAWriteGoToThePrimaryWithReadYourWrites() throws SQLException {
+        ReadReplicaRoutingDataSource dataSource = createDataSource(true);
+        dataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(dataSource.getConnection()).isSameAs(firstReplicaConnection);
+    }
+
+    @Test
+    void readsFromAReplicaAreRecorded() throws SQLException {
+        ReadReplicaRoutingDataSource dataSource = createDataSource(false);
+
+        try (ReplicaReads.Scope scope = ReplicaReads.open()) {
+            dataSource.getConnection();
+            assertThat(scope.hasReadFromReplica()).isFalse();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (ReplicaReads.Scope scope = ReplicaReads.open()) {
+            dataSource.getConnection();
+            assertThat(scope.hasReadFromReplica()).isTrue();
+        }
+    }
+
+    private ReadReplicaRoutingDataSource createDataSource(boolean readYourWrites) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("first", firstReplica);
+        replicas.put("second", secondReplica);
+        return new ReadReplicaRoutingDataSource(primary, replicas, Duration.ofMinutes(1), readYourWrites);
+    }
+}
@@ -0,0 +1,116 @@
+package pagnation.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.type.StandardBasicTypes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link PooledLoSequenceGenerator}.
+ */
+class PooledLoSequenceGeneratorTest {
+
+    private StandardServiceRegistry serviceRegistry;
+
+    @BeforeEach
+    public void setup() {
+        serviceRegistry =
+            new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, H2Dialect.class.getName())
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", false)
+                .applySetting(PooledLoSequenceGenerator.ALLOCATION_SIZES_SETTING, Map.of(PooledLoSequenceGenerator.PONUDE_SEQUENCE, 500))
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        StandardServiceRegistryBuilder.destroy(serviceRegistry);
+    }
+
+    @Test
+    void allocationSizeIsReadFromTheSettings() {
+        PooledLoSequenceGenerator generator = configure(PooledLoSequenceGenerator.PONUDE_SEQUENCE);
+
+        assertThat(generator.getOptimizer()).isInstanceOf(PooledLoOptimizer.class);
+        assertThat(generator.getOptimizer().getIncrementSize()).isEqualTo(500);
+        assertThat(generator.getDatabaseStructure().getIncrementSize()).isEqualTo(500);
+    }
+
+    @Test
+    void allocationSizeDefaultsWhenTheSequenceIsNotConfigured() {
+        PooledLoSequenceGenerator generator = configure(PooledLoSequenceGenerator.POSTUPCI_SEQUENCE);
+
+        assertThat(generator.getOptimizer().getIncrementSize()).isEqualTo(PooledLoSequenceGenerator.DEFAULT_ALLOCATION_SIZE);
+    }
+
+    @Test
+    void eachFetchAllocatesABlockStartingAtTheFetchedValue() {
+        PooledLoSequenceGenerator generator = configure(PooledLoSequenceGenerator.PONUDE_SEQUENCE);
+        SequenceCallback sequence = new SequenceCallback(1, 500);
+
+        List<Serializable> ids = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            ids.add(generator.getOptimizer().generate(sequence));
+        }
+
+        assertThat(sequence.fetches).isEqualTo(2);
+        assertThat(ids.get(0)).isEqualTo(1L);
+        assertThat(ids.get(499)).isEqualTo(500L);
+        assertThat(ids.get(500)).isEqualTo(501L);
+        assertThat(ids).doesNotHaveDuplicates();
+    }
+
+    private PooledLoSequenceGenerator configure(String sequenceName) {
+        Properties params = new Properties();
+        params.setProperty(SequenceStyleGenerator.SEQUENCE_PARAM, sequenceName);
+        PooledLoSequenceGenerator generator = new PooledLoSequenceGenerator();
+        generator.configure(StandardBasicTypes.LONG, params, serviceRegistry);
+        return generator;
+    }
+
+    /**
+     * A database sequence starting at {@code initialValue}, incremented by {@code incrementSize} on each fetch.
+     */
+    private static final class SequenceCallback implements AccessCallback {
+
+        private final int incrementSize;
+
+        private long value;
+
+        private int fetches;
+
+        private SequenceCallback(long initialValue, int incrementSize) {
+            this.value = initialValue;
+            this.incrementSize = incrementSize;
+        }
+
+        @Override
+        public IntegralDataTypeHolder getNextValue() {
+            fetches++;
+            IntegralDataTypeHolder holder = IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class).initialize(value);
+            value += incrementSize;
+            return holder;
+        }
+
+        @Override
+        public String getTenantIdentifier() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package pagnation.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheHitRatioMeterBinderTests {
+
+    private MeterRegistry registry;
+
+    private AtomicLong hits;
+
+    private AtomicLong misses;
+
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        hits = new AtomicLong();
+        misses = new AtomicLong();
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get).tags("cache", "ponudeQueries", "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get).tags("cache", "ponudeQueries", "result", "miss").register(registry);
+        javax.cache.CacheManager cacheManager = mock(javax.cache.CacheManager.class);
+        when(cacheManager.getCacheNames()).thenReturn(List.of("ponudeQueries"));
+        new CacheHitRatioMeterBinder(cacheManager).bindTo(registry);
+    }
+
+    @Test
+    void testHitRatioIsTheShareOfHits() {
+        hits.set(3);
+        misses.set(1);
+
+        assertThat(registry.get("cache.gets.hit.ratio").tag("cache", "ponudeQueries").gauge().value()).isEqualTo(0.75);
+    }
+
+    @Test
+    void testHitRatioIsNaNBeforeTheFirstGet() {
+        assertThat(registry.get("cache.gets.hit.ratio").tag("cache", "ponudeQueries").gauge().value()).isNaN();
+    }
+}
@@ -0,0 +1,90 @@
+package pagnation.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import pagnation.config.ApplicationProperties;
+
+class ConnectionBorrowersTests {
+
+    private ApplicationProperties applicationProperties;
+
+    private ConnectionBorrowers connectionBorrowers;
+
+    private DataSource dataSource;
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getConnectionPool().setTrackBorrowers(true);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("applicationProperties", applicationProperties);
+        connectionBorrowers = new ConnectionBorrowers(beanFactory.getBeanProvider(ApplicationProperties.class));
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    @AfterEach
+    public void teardown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testBorrowersAreTrackedUntilClosed() throws SQLException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/ponudes")));
+        DataSource tracked = (DataSource) connectionBorrowers.postProcessAfterInitialization(dataSource, "dataSource");
+
+        Connection borrowed = tracked.getConnection();
+
+        assertThat(((ConnectionProxy) borrowed).getTargetConnection()).isSameAs(connection);
+        assertThat(connectionBorrowers.getBorrowers())
+            .singleElement()
+            .satisfies(borrower -> {
+                assertThat(borrower.getEndpoint()).isEqualTo("GET /api/ponudes");
+                assertThat(borrower.getThread()).isEqualTo(Thread.currentThread().getName());
+                assertThat(borrower.getStack()).isEmpty();
+            });
+
+        borrowed.close();
+
+        verify(connection).close();
+        assertThat(connectionBorrowers.size()).isZero();
+    }
+
+    @Test
+    void testStacksAreCapturedWhenEnabled() throws SQLException {
+        applicationProperties.getConnectionPool().setCaptureStacks(true);
+        DataSource tracked = (DataSource) connectionBorrowers.postProcessAfterInitialization(dataSource, "dataSource");
+
+        tracked.getConnection();
+
+        assertThat(connectionBorrowers.getBorrowers())
+            .singleElement()
+            .satisfies(borrower -> {
+                assertThat(borrower.getEndpoint()).isNull();
+                assertThat(borrower.getStack()).anyMatch(frame -> frame.startsWith(ConnectionBorrowersTests.class.getName()));
+            });
+    }
+
+    @Test
+    void testOnlyTheDataSourceIsWrappedWhenEnabled() {
+        assertThat(connectionBorrowers.postProcessAfterInitialization(dataSource, "primaryDataSource")).isSameAs(dataSource);
+
+        applicationProperties.getConnectionPool().setTrackBorrowers(false);
+        assertThat(connectionBorrowers.postProcessAfterInitialization(dataSource, "dataSource")).isSameAs(dataSource);
+    }
+}
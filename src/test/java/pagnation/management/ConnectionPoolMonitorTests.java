@@ -0,0 +1,137 @@
+package pagnation.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import pagnation.config.ApplicationProperties;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ConnectionPoolMonitorTests {
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry registry;
+
+    private StaticListableBeanFactory beanFactory;
+
+    private ConnectionPoolMonitor connectionPoolMonitor;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        registry = new SimpleMeterRegistry();
+        beanFactory = new StaticListableBeanFactory();
+        connectionPoolMonitor = new ConnectionPoolMonitor(beanFactory.getBeanProvider(DataSource.class), registry, applicationProperties);
+    }
+
+    @Test
+    void testLongWaitsAreAlerted(CapturedOutput output) throws SQLException {
+        HikariDataSource pool = mockPool("primary", 10, 10, 5);
+        beanFactory.addBean("dataSource", pool);
+
+        connectionPoolMonitor.monitor();
+        acquire("primary", Duration.ofMillis(200));
+        connectionPoolMonitor.monitor();
+
+        assertThat(output).contains("Connections of pool primary waited 200 ms on average");
+        verify(pool.getHikariConfigMXBean(), never()).setMaximumPoolSize(anyInt());
+    }
+
+    @Test
+    void testShortWaitsAreNotAlerted(CapturedOutput output) throws SQLException {
+        beanFactory.addBean("dataSource", mockPool("primary", 10, 1, 0));
+
+        connectionPoolMonitor.monitor();
+        acquire("primary", Duration.ofMillis(5));
+        connectionPoolMonitor.monitor();
+
+        assertThat(output).doesNotContain("Connections of pool primary waited");
+    }
+
+    @Test
+    void testAdaptivePoolsGrowOnLongWaits() throws SQLException {
+        applicationProperties.getConnectionPool().getAdaptive().setEnabled(true);
+        HikariDataSource pool = mockPool("primary", 39, 39, 5);
+        beanFactory.addBean("dataSource", pool);
+
+        connectionPoolMonitor.monitor();
+        acquire("primary", Duration.ofMillis(50));
+        connectionPoolMonitor.monitor();
+
+        // within the maximum pool size
+        verify(pool.getHikariConfigMXBean()).setMaximumPoolSize(40);
+    }
+
+    @Test
+    void testAdaptivePoolsShrinkWhenIdle() throws SQLException {
+        applicationProperties.getConnectionPool().getAdaptive().setEnabled(true);
+        HikariDataSource idle = mockPool("idle", 20, 2, 0);
+        HikariDataSource minimum = mockPool("minimum", 10, 0, 0);
+        HikariDataSource busy = mockPool("busy", 20, 15, 0);
+        beanFactory.addBean("idleDataSource", idle);
+        beanFactory.addBean("minimumDataSource", minimum);
+        beanFactory.addBean("busyDataSource", busy);
+
+        connectionPoolMonitor.monitor();
+
+        verify(idle.getHikariConfigMXBean()).setMaximumPoolSize(18);
+        verify(minimum.getHikariConfigMXBean(), never()).setMaximumPoolSize(anyInt());
+        verify(busy.getHikariConfigMXBean(), never()).setMaximumPoolSize(anyInt());
+    }
+
+    @Test
+    void testPoolsOfARoutingDataSourceAreMonitored() throws SQLException {
+        HikariDataSource primary = mockPool("primary", 10, 1, 0);
+        HikariDataSource replica = mockPool("replica", 10, 2, 0);
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return "primary";
+            }
+        };
+        routing.setTargetDataSources(Map.of("primary", primary, "replica", replica));
+        routing.afterPropertiesSet();
+        beanFactory.addBean("primaryDataSource", primary);
+        beanFactory.addBean("routingDataSource", routing);
+
+        assertThat(connectionPoolMonitor.getPoolStatistics())
+            .extracting(ConnectionPoolMonitor.PoolStatistics::getPool)
+            .containsExactlyInAnyOrder("primary", "replica");
+    }
+
+    private void acquire(String poolName, Duration wait) {
+        registry.timer(ConnectionPoolMonitor.ACQUIRE_METER_NAME, ConnectionPoolMonitor.POOL_DIMENSION, poolName).record(wait);
+    }
+
+    private HikariDataSource mockPool(String name, int maximumPoolSize, int active, int waiting) throws SQLException {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        HikariPoolMXBean state = mock(HikariPoolMXBean.class);
+        when(pool.getPoolName()).thenReturn(name);
+        when(pool.getMaximumPoolSize()).thenReturn(maximumPoolSize);
+        when(pool.getHikariPoolMXBean()).thenReturn(state);
+        when(pool.getHikariConfigMXBean()).thenReturn(mock(HikariConfigMXBean.class));
+        when(pool.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(pool.unwrap(HikariDataSource.class)).thenReturn(pool);
+        when(state.getActiveConnections()).thenReturn(active);
+        when(state.getThreadsAwaitingConnection()).thenReturn(waiting);
+        // the timer is published once the pool is started
+        acquire(name, Duration.ZERO);
+        return pool;
+    }
+}
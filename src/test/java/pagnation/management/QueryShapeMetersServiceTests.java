@@ -0,0 +1,139 @@
+package pagnation.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pagnation.config.ApplicationProperties;
+
+class QueryShapeMetersServiceTests {
+
+    private static final String QUERIES_METER_EXPECTED_NAME = "criteria.queries";
+
+    private static final String ROWS_METER_EXPECTED_NAME = "criteria.queries.rows";
+
+    private static final String SQL = "select * from ponude where broj > 5";
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private QueryShapeMetersService queryShapeMetersService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getQueryLog().setMaxShapes(2);
+
+        queryShapeMetersService = new QueryShapeMetersService(meterRegistry, applicationProperties);
+    }
+
+    @Test
+    void testQueriesAreTrackedByShape() {
+        AtomicInteger plans = new AtomicInteger();
+
+        List<Integer> result = queryShapeMetersService.track(
+            "ponude",
+            "page",
+            "broj.greaterThan",
+            () -> Arrays.asList(1, 2, 3),
+            List::size,
+            () -> SQL,
+            () -> () -> SQL + "\n" + plans.incrementAndGet()
+        );
+
+        assertThat(result).containsExactly(1, 2, 3);
+        assertThat(meterRegistry.get(QUERIES_METER_EXPECTED_NAME).tag("shape", "broj.greaterThan").tag("operation", "page").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(ROWS_METER_EXPECTED_NAME).tag("shape", "broj.greaterThan").summary().totalAmount()).isEqualTo(3);
+        assertThat(queryShapeMetersService.getHottest(10))
+            .singleElement()
+            .satisfies(shape -> {
+                assertThat(shape.getShape()).isEqualTo("broj.greaterThan");
+                assertThat(shape.getSql()).isEqualTo(SQL);
+                assertThat(shape.getCount()).isEqualTo(1);
+                assertThat(shape.getRows()).isEqualTo(3);
+            });
+        assertThat(plans).hasValue(0);
+    }
+
+    @Test
+    void testShapesAboveTheMaximumAreTrackedTogether() {
+        for (String shape : Arrays.asList("id.equals", "broj.in", "ime.contains", "ime.search")) {
+            queryShapeMetersService.track("ponude", "page", shape, () -> 1L, Long::longValue, () -> SQL, () -> () -> SQL);
+        }
+
+        assertThat(meterRegistry.get(QUERIES_METER_EXPECTED_NAME).tag("shape", "other").timer().count()).isEqualTo(2);
+        assertThat(queryShapeMetersService.getHottest(1)).singleElement().extracting("shape").isEqualTo("other");
+    }
+
+    @Test
+    void testSlowQueriesAreExplained() throws InterruptedException {
+        applicationProperties.getQueryLog().setSlowThreshold(Duration.ZERO);
+        CountDownLatch plans = new CountDownLatch(1);
+
+        trackSlowCount(plans);
+
+        assertThat(plans.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(queryShapeMetersService.getSlowest(10)).extracting("operation").containsExactly("count");
+    }
+
+    @Test
+    void testSlowQueriesOfAShapeAreExplainedOncePerInterval() throws InterruptedException {
+        applicationProperties.getQueryLog().setSlowThreshold(Duration.ZERO);
+        CountDownLatch plans = new CountDownLatch(2);
+
+        trackSlowCount(plans);
+        trackSlowCount(plans);
+
+        assertThat(plans.await(1, TimeUnit.SECONDS)).isFalse();
+        assertThat(plans.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testSlowQueriesAreExplainedAfterTheirTransaction() throws InterruptedException {
+        applicationProperties.getQueryLog().setSlowThreshold(Duration.ZERO);
+        CountDownLatch plans = new CountDownLatch(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            trackSlowCount(plans);
+
+            assertThat(plans.await(1, TimeUnit.SECONDS)).isFalse();
+            TransactionSynchronizationManager
+                .getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(plans.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void trackSlowCount(CountDownLatch plans) {
+        queryShapeMetersService.track(
+            "ponude",
+            "count",
+            "unfiltered",
+            () -> 10L,
+            Long::longValue,
+            () -> SQL,
+            () ->
+                () -> {
+                    plans.countDown();
+                    return SQL;
+                }
+        );
+    }
+}
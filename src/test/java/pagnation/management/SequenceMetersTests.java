@@ -0,0 +1,91 @@
+package pagnation.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pagnation.domain.Ponude;
+import pagnation.domain.User;
+
+class SequenceMetersTests {
+
+    private MeterRegistry meterRegistry;
+
+    private DatabaseStructure structure;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        structure = mock(DatabaseStructure.class);
+        when(structure.getName()).thenReturn("ponude_seq");
+        when(structure.getIncrementSize()).thenReturn(500);
+        SequenceStyleGenerator generator = mock(SequenceStyleGenerator.class);
+        when(generator.getDatabaseStructure()).thenReturn(structure);
+
+        EntityPersister ponudePersister = persister(Ponude.class);
+        when(ponudePersister.getIdentifierGenerator()).thenReturn(generator);
+        EntityPersister userPersister = persister(User.class);
+        when(userPersister.getIdentifierGenerator()).thenReturn(new IdentityGenerator());
+        MetamodelImplementor metamodel = mock(MetamodelImplementor.class);
+        when(metamodel.entityPersisters()).thenReturn(Map.of(Ponude.class.getName(), ponudePersister, User.class.getName(), userPersister));
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+        when(sessionFactory.getMetamodel()).thenReturn(metamodel);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+
+        new SequenceMeters(entityManagerFactory).bindTo(meterRegistry);
+    }
+
+    @Test
+    void fetchesAreCountedBySequence() {
+        when(structure.getTimesAccessed()).thenReturn(3);
+
+        assertThat(
+            meterRegistry
+                .get(SequenceMeters.FETCHES_METER_NAME)
+                .tag(SequenceMeters.ENTITY_DIMENSION, "Ponude")
+                .tag(SequenceMeters.SEQUENCE_DIMENSION, "ponude_seq")
+                .functionCounter()
+                .count()
+        )
+            .isEqualTo(3);
+    }
+
+    @Test
+    void allocationSizeIsGaugedBySequence() {
+        assertThat(
+            meterRegistry
+                .get(SequenceMeters.ALLOCATION_SIZE_METER_NAME)
+                .tag(SequenceMeters.ENTITY_DIMENSION, "Ponude")
+                .tag(SequenceMeters.SEQUENCE_DIMENSION, "ponude_seq")
+                .gauge()
+                .value()
+        )
+            .isEqualTo(500);
+    }
+
+    @Test
+    void entitiesWithoutSequenceAreNotMetered() {
+        assertThat(meterRegistry.find(SequenceMeters.FETCHES_METER_NAME).tag(SequenceMeters.ENTITY_DIMENSION, "User").meters()).isEmpty();
+        assertThat(meterRegistry.find(SequenceMeters.FETCHES_METER_NAME).meters()).hasSize(1);
+    }
+
+    private static EntityPersister persister(Class<?> entityClass) {
+        EntityPersister persister = mock(EntityPersister.class);
+        doReturn(entityClass).when(persister).getMappedClass();
+        return persister;
+    }
+}
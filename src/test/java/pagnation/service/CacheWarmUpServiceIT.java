@@ -0,0 +1,66 @@
+package pagnation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import pagnation.IntegrationTest;
+import pagnation.domain.Ponude;
+import pagnation.repository.PonudeRepository;
+import pagnation.repository.UserRepository;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}, with a read replica: the caches must still be filled, from the
+ * primary.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.read-replicas.targets[0].url=jdbc:h2:mem:pagnation;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "application.cache.warm-up.enabled=true",
+        "application.cache.warm-up.entities[pagnation.domain.Ponude]=10",
+        "application.cache.warm-up.users=10",
+    }
+)
+class CacheWarmUpServiceIT {
+
+    @Autowired
+    private CacheWarmUpService cacheWarmUpService;
+
+    @Autowired
+    private PonudeRepository ponudeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Ponude ponude;
+
+    @BeforeEach
+    public void init() {
+        ponude = ponudeRepository.saveAndFlush(new Ponude().broj(1).ime("AAAAAAAAAA"));
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        ponudeRepository.delete(ponude);
+    }
+
+    @Test
+    void warmUpFillsTheCachesFromThePrimary() {
+        cacheWarmUpService.warmUp();
+
+        assertThat(entityManagerFactory.getCache().contains(Ponude.class, ponude.getId())).isTrue();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("user")).isNotNull();
+    }
+}
@@ -0,0 +1,93 @@
+package pagnation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import pagnation.config.ApplicationProperties;
+import pagnation.repository.NotificationRepository;
+import pagnation.repository.UserRepository;
+
+/**
+ * Unit tests for the {@link ClusterCacheInvalidator}.
+ */
+class ClusterCacheInvalidatorTest {
+
+    private Cache usersByLogin;
+
+    private MeterRegistry registry;
+
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+
+    @BeforeEach
+    public void setup() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(UserRepository.USERS_BY_LOGIN_CACHE);
+        usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        usersByLogin.put("john", "John");
+        usersByLogin.put("jane", "Jane");
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getInvalidation().setEnabled(true);
+        applicationProperties.getCache().getInvalidation().setMaxPending(2);
+        registry = new SimpleMeterRegistry();
+        clusterCacheInvalidator =
+            new ClusterCacheInvalidator(
+                applicationProperties,
+                mock(NotificationRepository.class),
+                mock(EntityManagerFactory.class),
+                cacheManager,
+                mock(PonudeCountCache.class),
+                new EntityChangeStamps(),
+                registry
+            );
+    }
+
+    @Test
+    void keysEvictedByAnotherNodeAreEvicted() {
+        clusterCacheInvalidator.apply("other-node|key|" + UserRepository.USERS_BY_LOGIN_CACHE + "|john");
+
+        assertThat(usersByLogin.get("john")).isNull();
+        assertThat(usersByLogin.get("jane")).isNotNull();
+    }
+
+    @Test
+    void cachesClearedByAnotherNodeAreCleared() {
+        clusterCacheInvalidator.apply("other-node|cache|" + UserRepository.USERS_BY_LOGIN_CACHE + "|");
+
+        assertThat(usersByLogin.get("john")).isNull();
+        assertThat(usersByLogin.get("jane")).isNull();
+    }
+
+    @Test
+    void evictionsPastTheMaximumAreCoalescedByCache() {
+        for (String login : Arrays.asList("john", "jane", "jim", "joe")) {
+            clusterCacheInvalidator.evictOnOtherNodes(UserRepository.USERS_BY_LOGIN_CACHE, login);
+        }
+        List<String> pending = new ArrayList<>();
+        clusterCacheInvalidator.drainTo(pending, 10);
+
+        assertThat(pending)
+            .hasSize(3)
+            .anySatisfy(message -> assertThat(message).endsWith("|key|" + UserRepository.USERS_BY_LOGIN_CACHE + "|john"))
+            .anySatisfy(message -> assertThat(message).endsWith("|key|" + UserRepository.USERS_BY_LOGIN_CACHE + "|jane"))
+            .anySatisfy(message -> assertThat(message).endsWith("|cache|" + UserRepository.USERS_BY_LOGIN_CACHE + "|"));
+        assertThat(registry.get(ClusterCacheInvalidator.DROPPED_METER_NAME).tag("kind", "key").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void malformedOrUnknownMessagesAreIgnored() {
+        clusterCacheInvalidator.apply("other-node|key|" + UserRepository.USERS_BY_LOGIN_CACHE);
+        clusterCacheInvalidator.apply("other-node|unknown|" + UserRepository.USERS_BY_LOGIN_CACHE + "|john");
+        clusterCacheInvalidator.apply("other-node|key|unknownCache|john");
+
+        assertThat(usersByLogin.get("john")).isNotNull();
+    }
+}
@@ -0,0 +1,170 @@
+package pagnation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pagnation.domain.EntityChangedEvent;
+import pagnation.domain.Ponude;
+import pagnation.repository.ReplicaReads;
+import pagnation.service.criteria.PonudeCriteria;
+
+/**
+ * Unit tests for the {@link PonudeCountCache}.
+ */
+class PonudeCountCacheTest {
+
+    private CacheManager jcacheManager;
+
+    private String cacheName;
+
+    private PonudeCountCache ponudeCountCache;
+
+    private AtomicLong queries;
+
+    @BeforeEach
+    public void setup() {
+        jcacheManager = Caching.getCachingProvider().getCacheManager();
+        cacheName = "PonudeCountCacheTest-" + UUID.randomUUID();
+        Cache<Object, Object> cache = jcacheManager.createCache(cacheName, new MutableConfiguration<>().setStoreByValue(false));
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(PonudeCountCache.PONUDE_COUNT_CACHE)).thenReturn(cache);
+        ponudeCountCache = new PonudeCountCache(cacheManager);
+        queries = new AtomicLong();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        jcacheManager.destroyCache(cacheName);
+    }
+
+    @Test
+    void testCountIsCachedByNormalizedCriteria() {
+        PonudeCriteria criteria = new PonudeCriteria();
+        criteria.broj().setIn(Arrays.asList(2, 1));
+        PonudeCriteria reordered = new PonudeCriteria();
+        reordered.broj().setIn(Arrays.asList(1, 2, 1));
+
+        assertThat(count(criteria, 5)).isEqualTo(5);
+        assertThat(count(reordered, 7)).isEqualTo(5);
+        assertThat(queries.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testEqualityCountsAreAdjustedOnInsert() {
+        PonudeCriteria matching = new PonudeCriteria();
+        matching.broj().setEquals(1);
+        PonudeCriteria other = new PonudeCriteria();
+        other.broj().setEquals(2);
+        count(null, 10);
+        count(matching, 4);
+        count(other, 6);
+
+        publish(EntityChangedEvent.Type.INSERT, null, state(1L, 1, "ime"));
+
+        assertThat(count(null, -1)).isEqualTo(11);
+        assertThat(count(matching, -1)).isEqualTo(5);
+        assertThat(count(other, -1)).isEqualTo(6);
+        assertThat(queries.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testEqualityCountsAreAdjustedOnUpdate() {
+        PonudeCriteria before = new PonudeCriteria();
+        before.broj().setEquals(1);
+        PonudeCriteria after = new PonudeCriteria();
+        after.broj().setEquals(2);
+        count(before, 4);
+        count(after, 6);
+
+        publish(EntityChangedEvent.Type.UPDATE, state(1L, 1, "ime"), state(1L, 2, "ime"));
+
+        assertThat(count(before, -1)).isEqualTo(3);
+        assertThat(count(after, -1)).isEqualTo(7);
+    }
+
+    @Test
+    void testRangeCountsAreEvictedOnDelete() {
+        PonudeCriteria criteria = new PonudeCriteria();
+        criteria.broj().setGreaterThan(0);
+        count(criteria, 4);
+
+        publish(EntityChangedEvent.Type.DELETE, state(1L, 1, "ime"), null);
+
+        assertThat(count(criteria, 3)).isEqualTo(3);
+        assertThat(queries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testCountIsNotCachedWhileChangesAreInFlight() {
+        EntityChangedEvent flushed = event(EntityChangedEvent.Type.INSERT, EntityChangedEvent.Phase.FLUSHED, null, state(1L, 1, "ime"));
+        ponudeCountCache.onEntityChanged(flushed);
+
+        count(null, 10);
+
+        assertThat(count(null, 11)).isEqualTo(11);
+        assertThat(queries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testCountReadFromAReplicaIsNotCached() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ReplicaReads.markReplicaRead();
+            count(null, 10);
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(0));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(count(null, 11)).isEqualTo(11);
+        assertThat(queries.get()).isEqualTo(2);
+    }
+
+    private long count(PonudeCriteria criteria, long result) {
+        return ponudeCountCache.count(
+            criteria,
+            () -> {
+                queries.incrementAndGet();
+                return result;
+            }
+        );
+    }
+
+    private void publish(EntityChangedEvent.Type type, Map<String, Object> previousState, Map<String, Object> state) {
+        ponudeCountCache.onEntityChanged(event(type, EntityChangedEvent.Phase.FLUSHED, previousState, state));
+        ponudeCountCache.onEntityChanged(event(type, EntityChangedEvent.Phase.COMMITTED, previousState, state));
+    }
+
+    private EntityChangedEvent event(
+        EntityChangedEvent.Type type,
+        EntityChangedEvent.Phase phase,
+        Map<String, Object> previousState,
+        Map<String, Object> state
+    ) {
+        return new EntityChangedEvent(Ponude.class, 1L, type, phase, previousState, state);
+    }
+
+    private Map<String, Object> state(Long id, Integer broj, String ime) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("id", id);
+        state.put("broj", broj);
+        state.put("ime", ime);
+        return state;
+    }
+}
@@ -0,0 +1,186 @@
+package pagnation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+import pagnation.IntegrationTest;
+import pagnation.domain.Ponude;
+import pagnation.domain.Postupci;
+import pagnation.repository.PonudeRepository;
+import pagnation.repository.QueryPlanRepository;
+import pagnation.repository.QueryPlanRepository.SqlQuery;
+import pagnation.service.criteria.PonudeCriteria;
+import pagnation.service.dto.KeysetCursor;
+
+/**
+ * Integration tests checking that the queries of the {@link PonudeQueryService} specifications and of the sorted
+ * pages are planned on the indexes of the {@code 20261018130000_added_index_sort} changelog.
+ * <p>
+ * On PostgreSQL, sequential scans are disabled for the explained statement, as the test tables are too small
+ * for the planner to prefer an index otherwise.
+ */
+@IntegrationTest
+@Transactional
+class QueryPlanIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PonudeQueryService ponudeQueryService;
+
+    @Autowired
+    private PonudeRepository ponudeRepository;
+
+    @Autowired
+    private QueryPlanRepository queryPlanRepository;
+
+    @Test
+    void ponudeBrojRangeUsesBrojIndex() {
+        PonudeCriteria criteria = new PonudeCriteria();
+        criteria.broj().setGreaterThan(5);
+
+        assertThat(explain(Ponude.class, ponudeQueryService.createSpecification(criteria), Sort.by("broj", "id")))
+            .containsIgnoringCase("idx_ponude_broj_id");
+    }
+
+    @Test
+    void ponudeSortedByBrojUsesBrojIndex() {
+        assertThat(explain(Ponude.class, ponudeQueryService.createSpecification(new PonudeCriteria()), Sort.by("broj", "id")))
+            .containsIgnoringCase("idx_ponude_broj_id");
+    }
+
+    @Test
+    void ponudeImeInUsesImeIndex() {
+        PonudeCriteria criteria = new PonudeCriteria();
+        criteria.ime().setIn(Collections.singletonList("AAAAAAAAAA"));
+
+        assertThat(explain(Ponude.class, ponudeQueryService.createSpecification(criteria), Sort.by("ime", "id")))
+            .containsIgnoringCase("idx_ponude_ime_id");
+    }
+
+    @Test
+    void ponudeSortedByImeUsesImeIndex() {
+        assertThat(explain(Ponude.class, ponudeQueryService.createSpecification(new PonudeCriteria()), Sort.by("ime", "id")))
+            .containsIgnoringCase("idx_ponude_ime_id");
+    }
+
+    @Test
+    void postupciSortedByBrojUsesBrojIndex() {
+        assertThat(explain(Postupci.class, null, Sort.by("broj", "id"))).containsIgnoringCase("idx_postupci_broj_id");
+    }
+
+    @Test
+    void postupciSortedByImeUsesImeIndex() {
+        assertThat(explain(Postupci.class, null, Sort.by("ime", "id"))).containsIgnoringCase("idx_postupci_ime_id");
+    }
+
+    @Test
+    void translateBindsTheParametersInOrder() {
+        PonudeCriteria criteria = new PonudeCriteria();
+        criteria.broj().setGreaterThan(5);
+        criteria.ime().setIn(Arrays.asList("AAAAAAAAAA", "BBBBBBBBBB"));
+
+        SqlQuery query = queryPlanRepository.translate(Ponude.class, ponudeQueryService.createSpecification(criteria), Sort.by("id"));
+
+        assertThat(query.getSql()).containsIgnoringCase("from ponude").containsIgnoringCase("order by");
+        assertThat(query.getParameters()).containsExactly(5, "AAAAAAAAAA", "BBBBBBBBBB");
+    }
+
+    @Test
+    void sameShapeIsTranslatedToSameSql() {
+        PonudeCriteria criteria = new PonudeCriteria();
+        criteria.broj().setGreaterThan(5);
+        criteria.ime().setIn(Arrays.asList("AAAAAAAAAA", "BBBBBBBBBB", "CCCCCCCCCC"));
+        PonudeCriteria otherCriteria = new PonudeCriteria();
+        otherCriteria.broj().setGreaterThan(500);
+        otherCriteria.ime().setIn(Arrays.asList("DDDDDDDDDD", "EEEEEEEEEE", "FFFFFFFFFF", "GGGGGGGGGG"));
+
+        SqlQuery query = queryPlanRepository.translate(Ponude.class, ponudeQueryService.createSpecification(criteria), Sort.by("id"));
+        SqlQuery otherQuery = queryPlanRepository.translate(
+            Ponude.class,
+            ponudeQueryService.createSpecification(otherCriteria),
+            Sort.by("id")
+        );
+
+        assertThat(otherQuery.getSql()).isEqualTo(query.getSql());
+        assertThat(query.getParameters()).containsExactly(5, "AAAAAAAAAA", "BBBBBBBBBB", "CCCCCCCCCC", "CCCCCCCCCC");
+        assertThat(otherQuery.getParameters()).containsExactly(500, "DDDDDDDDDD", "EEEEEEEEEE", "FFFFFFFFFF", "GGGGGGGGGG");
+    }
+
+    @Test
+    void keysetSeekIsARowValueComparison() {
+        KeysetCursor cursor = KeysetCursor.first(Sort.by("broj")).next(2L, 5);
+
+        SqlQuery query = queryPlanRepository.translate(
+            Ponude.class,
+            ponudeQueryService.createKeysetSpecification(cursor, true),
+            Sort.by("broj", "id")
+        );
+
+        assertThat(query.getSql()).containsPattern("\\(\\([^()]*broj[^()]*, [^()]*id[^()]*\\) > \\(\\?, \\?\\)\\)");
+        assertThat(query.getParameters()).containsExactly(5, 2L);
+    }
+
+    @Test
+    void keysetSeekReadsTheSameRowsWithARowValueComparison() {
+        for (int i = 0; i < 6; i++) {
+            em.persist(new Ponude().broj(i % 3).ime("AAAAAAAAAA"));
+        }
+        em.flush();
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            KeysetCursor first = KeysetCursor.first(Sort.by(direction, "broj"));
+            Sort sort = Sort.by(direction, "broj", "id");
+            List<Ponude> all = ponudeRepository.findAll(ponudeQueryService.createKeysetSpecification(first), sort);
+            Ponude last = all.get(2);
+            KeysetCursor cursor = first.next(last.getId(), last.getBroj());
+
+            List<Ponude> rows = ponudeRepository.findAll(ponudeQueryService.createKeysetSpecification(cursor, true), sort);
+
+            assertThat(rows)
+                .containsExactlyElementsOf(ponudeRepository.findAll(ponudeQueryService.createKeysetSpecification(cursor, false), sort))
+                .containsExactlyElementsOf(all.subList(3, all.size()));
+        }
+    }
+
+    /**
+     * Translate the criteria query of a specification to SQL, as Hibernate runs it, and explain it in the transaction
+     * of the test.
+     */
+    private <T> String explain(Class<T> entityClass, Specification<T> specification, Sort sort) {
+        SqlQuery query = queryPlanRepository.translate(entityClass, specification, sort);
+        return em
+            .unwrap(Session.class)
+            .doReturningWork(connection -> {
+                if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("set local enable_seqscan = off");
+                    }
+                }
+                StringBuilder plan = new StringBuilder();
+                try (PreparedStatement statement = connection.prepareStatement("explain " + query.getSql())) {
+                    for (int i = 0; i < query.getParameters().size(); i++) {
+                        statement.setObject(i + 1, query.getParameters().get(i));
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            plan.append(resultSet.getString(1)).append('\n');
+                        }
+                    }
+                }
+                return plan.toString();
+            });
+    }
+}
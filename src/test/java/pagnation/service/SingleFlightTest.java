@@ -0,0 +1,184 @@
+package pagnation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pagnation.config.ApplicationProperties;
+
+/**
+ * Unit tests for the {@link SingleFlight}.
+ */
+class SingleFlightTest {
+
+    private MeterRegistry registry;
+
+    private ApplicationProperties applicationProperties;
+
+    private SingleFlight singleFlight;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        singleFlight = new SingleFlight(applicationProperties, registry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void identicalCallsInFlightShareOneResult() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() ->
+            singleFlight.execute(
+                "test.page",
+                () -> {
+                    reads.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return "page";
+                },
+                "criteria",
+                0
+            )
+        );
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower = executor.submit(() ->
+            singleFlight.execute("test.page", () -> "page " + reads.incrementAndGet(), "criteria", 0)
+        );
+        waitForCoalescedCalls(1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+        assertThat(reads).hasValue(1);
+        assertThat(registry.get(SingleFlight.RATIO_METER_NAME).tag("call", "test.page").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void callsWaitingTooLongForAHungCallAreExecuted() throws Exception {
+        applicationProperties.getSingleFlight().setMaxWait(Duration.ofMillis(50));
+        singleFlight = new SingleFlight(applicationProperties, registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() ->
+            singleFlight.execute(
+                "test.page",
+                () -> {
+                    started.countDown();
+                    await(release);
+                    return "hung page";
+                },
+                "criteria"
+            )
+        );
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        try {
+            assertThat(singleFlight.execute("test.page", () -> "page", "criteria")).isEqualTo("page");
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("hung page");
+        assertThat(registry.get(SingleFlight.CALLS_METER_NAME).tag("result", "timed-out").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void callsWithOtherArgumentsOrAfterTheFlightAreExecuted() {
+        AtomicInteger reads = new AtomicInteger();
+
+        singleFlight.execute("test.page", reads::incrementAndGet, "criteria", 0);
+        singleFlight.execute("test.page", reads::incrementAndGet, "criteria", 0);
+        singleFlight.execute("test.page", reads::incrementAndGet, "criteria", 1);
+
+        assertThat(reads).hasValue(3);
+        assertThat(registry.get(SingleFlight.CALLS_METER_NAME).tag("result", "executed").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void callsInATransactionThatMayWriteAreExecuted() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> leader = executor.submit(() ->
+            singleFlight.execute(
+                "test.page",
+                () -> {
+                    started.countDown();
+                    await(release);
+                    return reads.incrementAndGet();
+                },
+                "criteria"
+            )
+        );
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(singleFlight.execute("test.page", reads::incrementAndGet, "criteria")).isEqualTo(1);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            release.countDown();
+        }
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(registry.get(SingleFlight.CALLS_METER_NAME).tag("result", "coalesced").counter().count()).isZero();
+    }
+
+    @Test
+    void failuresAreThrownAndNotKept() {
+        assertThatThrownBy(() ->
+                singleFlight.execute(
+                    "test.page",
+                    () -> {
+                        throw new IllegalStateException("database down");
+                    },
+                    "criteria"
+                )
+            )
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("test.page", () -> "page", "criteria")).isEqualTo("page");
+    }
+
+    private void waitForCoalescedCalls(double count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (
+            registry.find(SingleFlight.CALLS_METER_NAME).tag("result", "coalesced").counter() == null ||
+            registry.get(SingleFlight.CALLS_METER_NAME).tag("result", "coalesced").counter().count() < count
+        ) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
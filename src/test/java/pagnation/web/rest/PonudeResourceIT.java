@@ -1,10 +1,16 @@
 package pagnation.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -13,6 +19,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,6 +28,7 @@ import pagnation.IntegrationTest;
 import pagnation.domain.Ponude;
 import pagnation.repository.PonudeRepository;
 import pagnation.service.criteria.PonudeCriteria;
+import pagnation.web.rest.util.ColumnarJsonHttpMessageConverter;
 
 /**
  * Integration tests for the {@link PonudeResource} REST controller.
@@ -116,6 +124,106 @@ class PonudeResourceIT {
         assertThat(ponudeList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void savePonudesInBatch() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        int databaseSizeBeforeCreate = ponudeRepository.findAll().size();
+
+        String batch =
+            "[{\"broj\":" + UPDATED_BROJ + ",\"ime\":\"" + UPDATED_IME + "\"}," +
+            "{\"id\":" + ponude.getId() + ",\"broj\":" + UPDATED_BROJ + ",\"ime\":\"" + UPDATED_IME + "\"}," +
+            "{\"id\":" + Long.MAX_VALUE + ",\"broj\":" + UPDATED_BROJ + "}]";
+        restPonudeMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].index").value(contains(0, 1, 2)))
+            .andExpect(jsonPath("$.[*].status").value(contains("CREATED", "UPDATED", "NOT_FOUND")))
+            .andExpect(jsonPath("$.[1].id").value(ponude.getId().intValue()));
+
+        // Validate the Ponude in the database
+        List<Ponude> ponudeList = ponudeRepository.findAll();
+        assertThat(ponudeList).hasSize(databaseSizeBeforeCreate + 1);
+        Ponude testPonude = ponudeRepository.findById(ponude.getId()).orElseThrow();
+        assertThat(testPonude.getBroj()).isEqualTo(UPDATED_BROJ);
+        assertThat(testPonude.getIme()).isEqualTo(UPDATED_IME);
+    }
+
+    @Test
+    @Transactional
+    void savePonudesInBatchAsNdjson() throws Exception {
+        int databaseSizeBeforeCreate = ponudeRepository.findAll().size();
+
+        String batch = "{\"broj\":" + DEFAULT_BROJ + ",\"ime\":\"" + DEFAULT_IME + "\"}\n{\"broj\":" + UPDATED_BROJ + "}\n";
+        restPonudeMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").contentType("application/x-ndjson").content(batch))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(contains("CREATED", "CREATED")));
+
+        // Validate the Ponude in the database
+        List<Ponude> ponudeList = ponudeRepository.findAll();
+        assertThat(ponudeList).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    @Transactional
+    void deletePonudesInBatch() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+        Ponude other = ponudeRepository.saveAndFlush(createEntity(em));
+
+        int databaseSizeBeforeDelete = ponudeRepository.findAll().size();
+
+        String batch = "[" + ponude.getId() + "," + Long.MAX_VALUE + "," + other.getId() + "," + ponude.getId() + "]";
+        restPonudeMockMvc
+            .perform(post(ENTITY_API_URL + "/batch/delete").contentType(MediaType.APPLICATION_JSON).content(batch))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].index").value(contains(0, 1, 2, 3)))
+            .andExpect(jsonPath("$.[*].status").value(contains("DELETED", "NOT_FOUND", "DELETED", "NOT_FOUND")))
+            .andExpect(jsonPath("$.[2].id").value(other.getId().intValue()));
+
+        // Validate the database contains two less ponudes
+        List<Ponude> ponudeList = ponudeRepository.findAll();
+        assertThat(ponudeList).hasSize(databaseSizeBeforeDelete - 2);
+        assertThat(ponudeRepository.findById(ponude.getId())).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void deletePonudesInBatchAsNdjson() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        int databaseSizeBeforeDelete = ponudeRepository.findAll().size();
+
+        restPonudeMockMvc
+            .perform(post(ENTITY_API_URL + "/batch/delete").contentType("application/x-ndjson").content(ponude.getId() + "\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(contains("DELETED")));
+
+        // Validate the database contains one less item
+        List<Ponude> ponudeList = ponudeRepository.findAll();
+        assertThat(ponudeList).hasSize(databaseSizeBeforeDelete - 1);
+    }
+
+    @Test
+    @Transactional
+    void deletePonudesInBatchWithInvalidId() throws Exception {
+        restPonudeMockMvc
+            .perform(post(ENTITY_API_URL + "/batch/delete").contentType(MediaType.APPLICATION_JSON).content("[\"one\"]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void savePonudesInBatchWithInvalidItem() throws Exception {
+        restPonudeMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").contentType(MediaType.APPLICATION_JSON).content("[{\"broj\":\"one\"}]"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getAllPonudes() throws Exception {
@@ -132,6 +240,37 @@ class PonudeResourceIT {
             .andExpect(jsonPath("$.[*].ime").value(hasItem(DEFAULT_IME)));
     }
 
+    @Test
+    @Transactional
+    void getAllPonudesWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        // Get the ponudeList, then get it again with its ETag
+        String eTag = restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Another page has another ETag
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+
+        // Any change of the ponudes changes the ETag
+        ponudeRepository.saveAndFlush(new Ponude().broj(UPDATED_BROJ).ime(UPDATED_IME));
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
     @Test
     @Transactional
     void getPonude() throws Exception {
@@ -148,6 +287,27 @@ class PonudeResourceIT {
             .andExpect(jsonPath("$.ime").value(DEFAULT_IME));
     }
 
+    @Test
+    @Transactional
+    void getPonudeWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        // Get the ponude, then get it again with its ETag
+        String eTag = restPonudeMockMvc
+            .perform(get(ENTITY_API_URL_ID, ponude.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(jsonPath("$.version").value(0))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL_ID, ponude.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
     @Test
     @Transactional
     void getPonudesByIdFiltering() throws Exception {
@@ -348,6 +508,284 @@ class PonudeResourceIT {
         defaultPonudeShouldBeFound("ime.doesNotContain=" + UPDATED_IME);
     }
 
+    @Test
+    @Transactional
+    void getAllPonudesByImeSearchSomething() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        // Get all the ponudeList where ime contains a part of DEFAULT_IME, ignoring case
+        defaultPonudeShouldBeFound("ime.search=" + DEFAULT_IME.substring(2, 6).toLowerCase());
+
+        // Get all the ponudeList where ime contains UPDATED_IME
+        defaultPonudeShouldNotBeFound("ime.search=" + UPDATED_IME);
+    }
+
+    @Test
+    @Transactional
+    void getAllPonudesByImeSearchAreRanked() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(createEntity(em).ime("Xy Search%"));
+        ponudeRepository.saveAndFlush(createEntity(em).ime("search%_and more"));
+        ponudeRepository.saveAndFlush(createEntity(em).ime("Search%"));
+        ponudeRepository.saveAndFlush(createEntity(em).ime("Search_"));
+
+        // Get the matches, exact first, then by prefix, then the others, with % and _ matched literally
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL).param("ime.search", "SEARCH%"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].ime").value("Search%"))
+            .andExpect(jsonPath("$.[1].ime").value("search%_and more"))
+            .andExpect(jsonPath("$.[2].ime").value("Xy Search%"));
+    }
+
+    @Test
+    @Transactional
+    void getAllPonudesByImeSearchAreRankedByPositionThenLength() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(createEntity(em).ime("Xyzw search"));
+        ponudeRepository.saveAndFlush(createEntity(em).ime("A search and a longer tail"));
+        ponudeRepository.saveAndFlush(createEntity(em).ime("B search"));
+
+        // Get the matches, by position of the term, then shorter values first, even when the term comes later in them
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL).param("ime.search", "search"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].ime").value("B search"))
+            .andExpect(jsonPath("$.[1].ime").value("A search and a longer tail"))
+            .andExpect(jsonPath("$.[2].ime").value("Xyzw search"));
+    }
+
+    @Test
+    @Transactional
+    void getAllPonudesWithFields() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        // Get only the id and ime of the ponudeList
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=id,ime&sort=id,desc&id.equals=" + ponude.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(ponude.getId().intValue()))
+            .andExpect(jsonPath("$.[0].ime").value(DEFAULT_IME))
+            .andExpect(jsonPath("$.[0].broj").doesNotExist())
+            .andExpect(jsonPath("$.[0].version").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllPonudesWithFieldsAsColumns() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        // Get only the id and ime of the ponudeList, in columns
+        restPonudeMockMvc
+            .perform(
+                get(ENTITY_API_URL + "?fields=id,ime&sort=id,desc&id.equals=" + ponude.getId())
+                    .accept(ColumnarJsonHttpMessageConverter.COLUMNAR_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(ColumnarJsonHttpMessageConverter.COLUMNAR_JSON))
+            .andExpect(jsonPath("$.columns[0]").value("id"))
+            .andExpect(jsonPath("$.columns[1]").value("ime"))
+            .andExpect(jsonPath("$.rows.length()").value(1))
+            .andExpect(jsonPath("$.rows[0][0]").value(ponude.getId().intValue()))
+            .andExpect(jsonPath("$.rows[0][1]").value(DEFAULT_IME));
+    }
+
+    @Test
+    @Transactional
+    void getAllPonudesWithFieldsAsColumnsWhenEmpty() throws Exception {
+        // Get the id and ime columns of an empty page
+        restPonudeMockMvc
+            .perform(
+                get(ENTITY_API_URL + "?fields=ime,id&id.equals=" + Long.MAX_VALUE).accept(ColumnarJsonHttpMessageConverter.COLUMNAR_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.columns").value(contains("ime", "id")))
+            .andExpect(jsonPath("$.rows").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getAllPonudesAsCbor() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        // Get the ponudeList in CBOR
+        byte[] body = restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&id.equals=" + ponude.getId()).accept("application/cbor"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/cbor"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        List<Ponude> ponudes = new ObjectMapper(new CBORFactory()).readValue(body, new TypeReference<List<Ponude>>() {});
+        assertThat(ponudes).singleElement().isEqualTo(ponude);
+        assertThat(ponudes.get(0).getIme()).isEqualTo(DEFAULT_IME);
+        assertThat(ponudes.get(0).getBroj()).isEqualTo(DEFAULT_BROJ);
+    }
+
+    @Test
+    @Transactional
+    void getAllPonudesWithUnknownField() throws Exception {
+        restPonudeMockMvc.perform(get(ENTITY_API_URL + "?fields=id,password")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllPonudesWithoutCount() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+        ponudeRepository.saveAndFlush(createEntity(em));
+
+        // Get the first page, without counting
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "?count=none&size=1&sort=id,desc&id.greaterThanOrEqual=" + ponude.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("X-Has-Next", "true"))
+            .andExpect(jsonPath("$.length()").value(1));
+
+        // Get the last page, without counting
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "?count=none&size=1&page=1&sort=id,desc&id.greaterThanOrEqual=" + ponude.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Has-Next", "false"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(ponude.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllPonudesWithEstimatedCount() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        // H2 has no row estimate, so the count is exact
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "?count=estimate&sort=id,desc&id.equals=" + ponude.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(ponude.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllPonudesWithCursor() throws Exception {
+        // Initialize the database
+        Ponude second = ponudeRepository.saveAndFlush(createEntity(em).broj(UPDATED_BROJ));
+        Ponude withoutBroj = ponudeRepository.saveAndFlush(createEntity(em).broj(null));
+        Ponude first = ponudeRepository.saveAndFlush(createEntity(em));
+        String filter = "id.greaterThanOrEqual=" + second.getId();
+
+        // Get the first slice, sorted by broj
+        String nextCursor = restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=2&sort=broj,asc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Next-Cursor"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$[1].id").value(second.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Next-Cursor");
+
+        // Get the last slice, with the ponude without broj
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + nextCursor + "&size=2&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(withoutBroj.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllPonudesWithInvalidCursor() throws Exception {
+        restPonudeMockMvc.perform(get(ENTITY_API_URL + "?after=invalid")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportPonudesAsNdjson() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        // Export the ponudeList
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=ndjson&id.equals=" + ponude.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(
+                content()
+                    .string(
+                        "{\"id\":" + ponude.getId() + ",\"broj\":" + DEFAULT_BROJ + ",\"ime\":\"" + DEFAULT_IME + "\",\"version\":0}\n"
+                    )
+            );
+    }
+
+    @Test
+    @Transactional
+    void exportPonudesAsNdjsonTerminatesEachLine() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+        Ponude other = ponudeRepository.saveAndFlush(createEntity(em));
+
+        // Export the ponudeList, one line per ponude
+        String body = restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=ndjson&sort=id,asc&id.in=" + ponude.getId() + "," + other.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        assertThat(body).endsWith("}\n").doesNotContain("\n\n");
+        assertThat(body.split("\n")).hasSize(2);
+
+        // An empty export has no line
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=ndjson&id.equals=" + Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void exportPonudesAsCsv() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        // Export the ponudeList
+        restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=csv&id.equals=" + ponude.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("id,broj,ime\r\n" + ponude.getId() + "," + DEFAULT_BROJ + "," + DEFAULT_IME + "\r\n"));
+    }
+
+    @Test
+    @Transactional
+    void exportPonudesAsSmile() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        // Export the ponudeList
+        byte[] body = restPonudeMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=smile&id.equals=" + ponude.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-jackson-smile"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        List<Ponude> ponudes = new ObjectMapper(new SmileFactory()).readerFor(Ponude.class).<Ponude>readValues(body).readAll();
+        assertThat(ponudes).singleElement().isEqualTo(ponude);
+        assertThat(ponudes.get(0).getIme()).isEqualTo(DEFAULT_IME);
+    }
+
     /**
      * Executes the search, and checks that the default entity is returned.
      */
@@ -430,20 +868,67 @@ class PonudeResourceIT {
         int databaseSizeBeforeUpdate = ponudeRepository.findAll().size();
         ponude.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, the update affects no row
         restPonudeMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, ponude.getId())
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(ponude))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Ponude in the database
         List<Ponude> ponudeList = ponudeRepository.findAll();
         assertThat(ponudeList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void putPonudeWithIfMatch() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        Ponude updatedPonude = new Ponude().id(ponude.getId()).broj(UPDATED_BROJ).ime(UPDATED_IME);
+
+        restPonudeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, ponude.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedPonude))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.version").value(1));
+
+        // Validate the Ponude in the database
+        Ponude testPonude = ponudeRepository.findById(ponude.getId()).orElseThrow();
+        assertThat(testPonude.getBroj()).isEqualTo(UPDATED_BROJ);
+        assertThat(testPonude.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @Transactional
+    void putPonudeWithStaleIfMatch() throws Exception {
+        // Initialize the database
+        ponudeRepository.saveAndFlush(ponude);
+
+        Ponude updatedPonude = new Ponude().id(ponude.getId()).broj(UPDATED_BROJ).ime(UPDATED_IME);
+
+        restPonudeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, ponude.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"1\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedPonude))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Ponude in the database
+        Ponude testPonude = ponudeRepository.findById(ponude.getId()).orElseThrow();
+        assertThat(testPonude.getBroj()).isEqualTo(DEFAULT_BROJ);
+    }
+
     @Test
     @Transactional
     void putWithIdMismatchPonude() throws Exception {
@@ -546,14 +1031,14 @@ class PonudeResourceIT {
         int databaseSizeBeforeUpdate = ponudeRepository.findAll().size();
         ponude.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, the update affects no row
         restPonudeMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, ponude.getId())
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(ponude))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Ponude in the database
         List<Ponude> ponudeList = ponudeRepository.findAll();
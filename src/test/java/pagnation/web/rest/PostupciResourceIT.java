@@ -1,7 +1,9 @@
 package pagnation.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -114,6 +117,50 @@ class PostupciResourceIT {
         assertThat(postupciList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void savePostupcisInBatch() throws Exception {
+        // Initialize the database
+        postupciRepository.saveAndFlush(postupci);
+
+        int databaseSizeBeforeCreate = postupciRepository.findAll().size();
+
+        String batch =
+            "[{\"broj\":" + UPDATED_BROJ + ",\"ime\":\"" + UPDATED_IME + "\"}," +
+            "{\"id\":" + postupci.getId() + ",\"broj\":" + UPDATED_BROJ + ",\"ime\":\"" + UPDATED_IME + "\"}," +
+            "{\"id\":" + Long.MAX_VALUE + ",\"broj\":" + UPDATED_BROJ + "}]";
+        restPostupciMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(contains("CREATED", "UPDATED", "NOT_FOUND")));
+
+        // Validate the Postupci in the database
+        List<Postupci> postupciList = postupciRepository.findAll();
+        assertThat(postupciList).hasSize(databaseSizeBeforeCreate + 1);
+        Postupci testPostupci = postupciRepository.findById(postupci.getId()).orElseThrow();
+        assertThat(testPostupci.getBroj()).isEqualTo(UPDATED_BROJ);
+        assertThat(testPostupci.getIme()).isEqualTo(UPDATED_IME);
+    }
+
+    @Test
+    @Transactional
+    void deletePostupcisInBatch() throws Exception {
+        // Initialize the database
+        postupciRepository.saveAndFlush(postupci);
+
+        int databaseSizeBeforeDelete = postupciRepository.findAll().size();
+
+        String batch = "[" + postupci.getId() + "," + Long.MAX_VALUE + "]";
+        restPostupciMockMvc
+            .perform(post(ENTITY_API_URL + "/batch/delete").contentType(MediaType.APPLICATION_JSON).content(batch))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(contains("DELETED", "NOT_FOUND")));
+
+        // Validate the database contains one less item
+        List<Postupci> postupciList = postupciRepository.findAll();
+        assertThat(postupciList).hasSize(databaseSizeBeforeDelete - 1);
+    }
+
     @Test
     @Transactional
     void getAllPostupcis() throws Exception {
@@ -130,6 +177,83 @@ class PostupciResourceIT {
             .andExpect(jsonPath("$.[*].ime").value(hasItem(DEFAULT_IME)));
     }
 
+    @Test
+    @Transactional
+    void getAllPostupcisByImeSearch() throws Exception {
+        // Initialize the database
+        postupciRepository.saveAndFlush(postupci);
+
+        // Get all the postupciList where ime contains a part of DEFAULT_IME, ignoring case
+        restPostupciMockMvc
+            .perform(get(ENTITY_API_URL + "?ime.search=" + DEFAULT_IME.substring(2, 6).toLowerCase()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(postupci.getId().intValue())));
+
+        // Get all the postupciList where ime contains UPDATED_IME
+        restPostupciMockMvc
+            .perform(get(ENTITY_API_URL + "?ime.search=" + UPDATED_IME))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(postupci.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllPostupcisWithFields() throws Exception {
+        // Initialize the database
+        postupciRepository.saveAndFlush(postupci);
+
+        // Get only the id and broj of the postupciList
+        restPostupciMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=id,broj&count=none&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(postupci.getId().intValue()))
+            .andExpect(jsonPath("$.[0].broj").value(DEFAULT_BROJ))
+            .andExpect(jsonPath("$.[0].ime").doesNotExist());
+
+        // Unknown fields are rejected
+        restPostupciMockMvc.perform(get(ENTITY_API_URL + "?fields=id,unknown")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllPostupcisWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        postupciRepository.saveAndFlush(postupci);
+
+        // Get the postupciList, then get it again with its ETag
+        String eTag = restPostupciMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restPostupciMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // Any change of the postupcis changes the ETag
+        postupciRepository.saveAndFlush(new Postupci().broj(UPDATED_BROJ).ime(UPDATED_IME));
+        restPostupciMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    void getAllPostupcisWithoutCount() throws Exception {
+        // Initialize the database
+        postupciRepository.saveAndFlush(postupci);
+
+        // Get all the postupciList, without counting
+        restPostupciMockMvc
+            .perform(get(ENTITY_API_URL + "?count=none&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().exists("X-Has-Next"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(postupci.getId().intValue())));
+    }
+
     @Test
     @Transactional
     void getPostupci() throws Exception {
@@ -146,6 +270,18 @@ class PostupciResourceIT {
             .andExpect(jsonPath("$.ime").value(DEFAULT_IME));
     }
 
+    @Test
+    @Transactional
+    void getPostupciWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        postupciRepository.saveAndFlush(postupci);
+
+        restPostupciMockMvc
+            .perform(get(ENTITY_API_URL_ID, postupci.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
     @Test
     @Transactional
     void getNonExistingPostupci() throws Exception {
@@ -189,14 +325,14 @@ class PostupciResourceIT {
         int databaseSizeBeforeUpdate = postupciRepository.findAll().size();
         postupci.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, the update affects no row
         restPostupciMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, postupci.getId())
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(postupci))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Postupci in the database
         List<Postupci> postupciList = postupciRepository.findAll();
@@ -305,20 +441,42 @@ class PostupciResourceIT {
         int databaseSizeBeforeUpdate = postupciRepository.findAll().size();
         postupci.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, the update affects no row
         restPostupciMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, postupci.getId())
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(postupci))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Postupci in the database
         List<Postupci> postupciList = postupciRepository.findAll();
         assertThat(postupciList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void patchPostupciWithStaleIfMatch() throws Exception {
+        // Initialize the database
+        postupciRepository.saveAndFlush(postupci);
+
+        Postupci partialUpdatedPostupci = new Postupci().id(postupci.getId()).ime(UPDATED_IME);
+
+        restPostupciMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, postupci.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"1\"")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedPostupci))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Postupci in the database
+        Postupci testPostupci = postupciRepository.findById(postupci.getId()).orElseThrow();
+        assertThat(testPostupci.getIme()).isEqualTo(DEFAULT_IME);
+    }
+
     @Test
     @Transactional
     void patchWithIdMismatchPostupci() throws Exception {
@@ -0,0 +1,77 @@
+package pagnation.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import pagnation.repository.ReplicaReads;
+
+/**
+ * Unit tests for the {@link ListETagUtil}.
+ */
+class ListETagUtilTest {
+
+    @Test
+    void eTagDependsOnTheStampTheQueryAndTheRepresentation() {
+        String eTag = ListETagUtil.createETag(request("page=0", MediaType.APPLICATION_JSON_VALUE), "1");
+
+        assertThat(eTag).startsWith("W/\"");
+        assertThat(ListETagUtil.createETag(request("page=0", MediaType.APPLICATION_JSON_VALUE), "1")).isEqualTo(eTag);
+        assertThat(ListETagUtil.createETag(request("page=0", MediaType.APPLICATION_JSON_VALUE), "2")).isNotEqualTo(eTag);
+        assertThat(ListETagUtil.createETag(request("page=1", MediaType.APPLICATION_JSON_VALUE), "1")).isNotEqualTo(eTag);
+        assertThat(ListETagUtil.createETag(request("page=0", "application/cbor"), "1")).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void matchingRequestsAreNotModified() {
+        String eTag = ListETagUtil.createETag(request("page=0", MediaType.APPLICATION_JSON_VALUE), "1");
+        ServletWebRequest request = request("page=0", MediaType.APPLICATION_JSON_VALUE);
+        ((MockHttpServletRequest) request.getRequest()).addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+
+        assertThat(ListETagUtil.checkNotModified(request, eTag)).isTrue();
+        MockHttpServletResponse response = (MockHttpServletResponse) request.getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+    }
+
+    @Test
+    void otherRequestsAreComputedWithTheirETag() {
+        ServletWebRequest request = request("page=0", MediaType.APPLICATION_JSON_VALUE);
+        String eTag = ListETagUtil.createETag(request, "1");
+
+        assertThat(ListETagUtil.checkNotModified(request, eTag)).isFalse();
+        // the ETag is only known to fit the body once the body is read
+        assertThat(request.getResponse().getHeader(HttpHeaders.ETAG)).isNull();
+        ResponseEntity<List<String>> response = ListETagUtil.withETag(eTag, () -> ResponseEntity.ok().body(List.of("v1")));
+        assertThat(response.getHeaders().getETag()).isEqualTo(eTag);
+        assertThat(response.getBody()).containsExactly("v1");
+    }
+
+    @Test
+    void responsesReadFromAReplicaHaveNoETag() {
+        ResponseEntity<List<String>> response = ListETagUtil.withETag(
+            "W/\"1\"",
+            () -> {
+                ReplicaReads.markReplicaRead();
+                return ResponseEntity.ok().header("X-Total-Count", "1").body(List.of("v1"));
+            }
+        );
+
+        assertThat(response.getHeaders().getETag()).isNull();
+        assertThat(response.getHeaders().getFirst("X-Total-Count")).isEqualTo("1");
+    }
+
+    private static ServletWebRequest request(String queryString, String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ponudes");
+        request.setQueryString(queryString);
+        request.addHeader(HttpHeaders.ACCEPT, accept);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,147 @@
+package pagnation.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import pagnation.IntegrationTest;
+import pagnation.config.ApplicationProperties;
+import pagnation.domain.Ponude;
+import pagnation.repository.PonudeRepository;
+
+/**
+ * Integration tests for the {@link ListResponseCache}, through the ponudes list.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ListResponseCacheIT {
+
+    private static final String ENTITY_API_URL = "/api/ponudes";
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PonudeRepository ponudeRepository;
+
+    @Autowired
+    private MockMvc restPonudeMockMvc;
+
+    @BeforeEach
+    public void enableCache() {
+        // disabled for the other tests, see the test application.yml
+        applicationProperties.getCache().getResponses().setEnabled(true);
+        cacheManager.getCache(ListResponseCache.CACHE_NAME).clear();
+    }
+
+    @AfterEach
+    public void disableCache() {
+        applicationProperties.getCache().getResponses().setEnabled(false);
+        cacheManager.getCache(ListResponseCache.CACHE_NAME).clear();
+    }
+
+    @Test
+    @Transactional
+    void identicalRequestsAreServedFromTheCache() throws Exception {
+        Ponude ponude = ponudeRepository.saveAndFlush(new Ponude().broj(1).ime("AAAAAAAAAA"));
+        double hits = count("hit");
+
+        MvcResult computed = restPonudeMockMvc
+            .perform(list())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(ponude.getId().intValue())))
+            .andReturn();
+        MvcResult cached = restPonudeMockMvc.perform(list()).andExpect(status().isOk()).andReturn();
+
+        assertThat(count("hit")).isEqualTo(hits + 1);
+        assertThat(cached.getResponse().getContentAsString()).isEqualTo(computed.getResponse().getContentAsString());
+        assertThat(cached.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(cached.getResponse().getHeader("X-Total-Count")).isEqualTo(computed.getResponse().getHeader("X-Total-Count"));
+    }
+
+    @Test
+    @Transactional
+    void aChangeOfTheEntityDropsTheCachedResponses() throws Exception {
+        restPonudeMockMvc.perform(list()).andExpect(status().isOk());
+        double misses = count("miss");
+
+        Ponude ponude = ponudeRepository.saveAndFlush(new Ponude().broj(1).ime("AAAAAAAAAA"));
+
+        restPonudeMockMvc
+            .perform(list())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(ponude.getId().intValue())));
+        assertThat(count("miss")).isEqualTo(misses + 1);
+    }
+
+    @Test
+    @Transactional
+    void otherAuthoritiesHaveTheirOwnEntries() throws Exception {
+        restPonudeMockMvc.perform(list().with(user("user").roles("USER"))).andExpect(status().isOk());
+        double misses = count("miss");
+        double hits = count("hit");
+
+        restPonudeMockMvc.perform(list().with(user("admin").roles("ADMIN"))).andExpect(status().isOk());
+        assertThat(count("miss")).isEqualTo(misses + 1);
+
+        // the same authorities share the entry, whoever the user
+        restPonudeMockMvc.perform(list().with(user("other").roles("USER"))).andExpect(status().isOk());
+        assertThat(count("hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @Transactional
+    void otherHostsHaveTheirOwnEntries() throws Exception {
+        ponudeRepository.saveAndFlush(new Ponude().broj(1).ime("AAAAAAAAAA"));
+        restPonudeMockMvc
+            .perform(list().with(request -> host(request, "first.example")))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("http://first.example/")));
+        double misses = count("miss");
+
+        restPonudeMockMvc
+            .perform(list().with(request -> host(request, "second.example")))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.LINK, containsString("http://second.example/")))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("first.example"))));
+        assertThat(count("miss")).isEqualTo(misses + 1);
+    }
+
+    private static MockHttpServletRequestBuilder list() {
+        return get(ENTITY_API_URL + "?sort=id,desc").accept(MediaType.APPLICATION_JSON);
+    }
+
+    private static MockHttpServletRequest host(MockHttpServletRequest request, String host) {
+        request.setServerName(host);
+        return request;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get(ListResponseCache.METER_NAME).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,206 @@
+package pagnation.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import pagnation.config.ApplicationProperties;
+import pagnation.domain.EntityChangedEvent;
+import pagnation.domain.Ponude;
+import pagnation.repository.ReplicaReads;
+import pagnation.service.EntityChangeStamps;
+
+/**
+ * Unit tests for the {@link ListResponseCache}.
+ */
+class ListResponseCacheTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private EntityChangeStamps entityChangeStamps;
+
+    private MeterRegistry registry;
+
+    private List<Runnable> refreshes;
+
+    private ListResponseCache listResponseCache;
+
+    private AtomicInteger computations;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getResponses().setEnabled(true);
+        entityChangeStamps = new EntityChangeStamps();
+        registry = new SimpleMeterRegistry();
+        refreshes = new ArrayList<>();
+        listResponseCache = createListResponseCache(refreshes::add);
+        computations = new AtomicInteger();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", null, "ROLE_USER"));
+    }
+
+    private ListResponseCache createListResponseCache(Executor executor) {
+        return new ListResponseCache(
+            applicationProperties,
+            new ConcurrentMapCacheManager(ListResponseCache.CACHE_NAME),
+            entityChangeStamps,
+            new ObjectMapper(),
+            executor,
+            registry
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void identicalRequestsAreServedFromTheCache() throws Exception {
+        assertThat(serve(MediaType.APPLICATION_JSON_VALUE).getContentAsString()).isEqualTo("[\"v1\"]");
+        MockHttpServletResponse response = serve(MediaType.APPLICATION_JSON_VALUE);
+
+        assertThat(computations).hasValue(1);
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(response.getHeader("X-Total-Count")).isEqualTo("1");
+        assertThat(registry.get(ListResponseCache.METER_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void aChangeOfTheEntityDropsTheCachedResponses() throws Exception {
+        serve(MediaType.APPLICATION_JSON_VALUE);
+        entityChangeStamps.onEntityChanged(
+            new EntityChangedEvent(Ponude.class, 1L, EntityChangedEvent.Type.UPDATE, EntityChangedEvent.Phase.FLUSHED, null, null)
+        );
+
+        assertThat(serve(MediaType.APPLICATION_JSON_VALUE).getContentAsString()).isEqualTo("[\"v2\"]");
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void otherAuthoritiesHaveTheirOwnEntries() {
+        serve(MediaType.APPLICATION_JSON_VALUE);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin", null, "ROLE_ADMIN"));
+        serve(MediaType.APPLICATION_JSON_VALUE);
+
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void staleResponsesAreServedWhileRefreshedInTheBackground() throws Exception {
+        applicationProperties.getCache().getResponses().setSoftTtl(Duration.ZERO);
+        serve(MediaType.APPLICATION_JSON_VALUE);
+
+        assertThat(serve(MediaType.APPLICATION_JSON_VALUE).getContentAsString()).isEqualTo("[\"v1\"]");
+        assertThat(serve(MediaType.APPLICATION_JSON_VALUE).getContentAsString()).isEqualTo("[\"v1\"]");
+        assertThat(refreshes).hasSize(1);
+        refreshes.get(0).run();
+
+        assertThat(computations).hasValue(2);
+        assertThat(serve(MediaType.APPLICATION_JSON_VALUE).getContentAsString()).isEqualTo("[\"v2\"]");
+    }
+
+    @Test
+    void staleResponsesAreRefreshedOnceAtATimePerKey() {
+        applicationProperties.getCache().getResponses().setSoftTtl(Duration.ZERO);
+        serve(MediaType.APPLICATION_JSON_VALUE);
+        serve(MediaType.APPLICATION_JSON_VALUE);
+        serve(MediaType.APPLICATION_JSON_VALUE);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin", null, "ROLE_ADMIN"));
+        serve(MediaType.APPLICATION_JSON_VALUE);
+        serve(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(refreshes).hasSize(2);
+
+        // once refreshed, the entry can be refreshed again
+        refreshes.get(1).run();
+        serve(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(refreshes).hasSize(3);
+        assertThat(registry.get(ListResponseCache.METER_NAME).tag("result", "stale").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void aRejectedRefreshLeavesTheEntryRefreshable() throws Exception {
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        listResponseCache =
+            createListResponseCache(refresh -> {
+                if (rejecting.get()) {
+                    throw new RejectedExecutionException("saturated");
+                }
+                refreshes.add(refresh);
+            });
+        applicationProperties.getCache().getResponses().setSoftTtl(Duration.ZERO);
+        serve(MediaType.APPLICATION_JSON_VALUE);
+
+        assertThat(serve(MediaType.APPLICATION_JSON_VALUE).getContentAsString()).isEqualTo("[\"v1\"]");
+        rejecting.set(false);
+        serve(MediaType.APPLICATION_JSON_VALUE);
+
+        assertThat(refreshes).hasSize(1);
+    }
+
+    @Test
+    void responsesReadFromAReplicaAreNotCached() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ponudes");
+        request.setQueryString("page=0&size=20");
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        ServletWebRequest webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+        ResponseEntity<List<String>> response = listResponseCache.serve(
+            webRequest,
+            Ponude.class,
+            uriBuilder -> {
+                ReplicaReads.markReplicaRead();
+                return compute();
+            }
+        );
+
+        // the computed response is returned, to be written by the handler
+        assertThat(response.getBody()).containsExactly("v1");
+
+        assertThat(serve(MediaType.APPLICATION_JSON_VALUE).getContentAsString()).isEqualTo("[\"v2\"]");
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void otherRepresentationsAreNotCached() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ponudes");
+        request.addHeader(HttpHeaders.ACCEPT, "application/x-jackson-smile");
+        ServletWebRequest webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+
+        assertThat(listResponseCache.serve(webRequest, Ponude.class, uriBuilder -> compute())).isNotNull();
+        assertThat(listResponseCache.serve(webRequest, Ponude.class, uriBuilder -> compute())).isNotNull();
+        assertThat(computations).hasValue(2);
+    }
+
+    private MockHttpServletResponse serve(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ponudes");
+        request.setQueryString("page=0&size=20");
+        request.addHeader(HttpHeaders.ACCEPT, accept);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(listResponseCache.serve(new ServletWebRequest(request, response), Ponude.class, uriBuilder -> compute())).isNull();
+        return response;
+    }
+
+    private ResponseEntity<List<String>> compute() {
+        return ResponseEntity.ok().header("X-Total-Count", "1").body(List.of("v" + computations.incrementAndGet()));
+    }
+}